@@ -0,0 +1,69 @@
+#!/usr/bin/env bash
+# Mide el tiempo hasta la primera petición exitosa y el RSS del proceso,
+# comparando el mismo classpath delgado sin optimizaciones, solo con AppCDS y con el
+# perfil fast-startup completo (AppCDS + lazy init + autoconfiguraciones excluidas).
+#
+# Uso:
+#   ./mvnw -Pfast-startup clean package -DskipTests
+#   scripts/startup-benchmark.sh [iteraciones]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+ITERATIONS="${1:-5}"
+PORT="${PORT:-18080}"
+MAIN_CLASS=com.upana.studentmanagement.StudentManagementApiApplication
+THIN_JAR=$(ls target/student-management-api-*.jar | grep -v -- '-exec.jar' | head -n 1)
+CDS_ARCHIVE=target/app-cds.jsa
+
+if [[ ! -f "$CDS_ARCHIVE" || ! -d target/lib ]]; then
+    echo "Falta $CDS_ARCHIVE o target/lib: ejecute './mvnw -Pfast-startup package' primero." >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+measure() {
+    local start pid elapsed rss
+    start=$(now_ms)
+    "$@" --server.port="$PORT" > /dev/null 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT/api/students"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "El proceso terminó antes de responder" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$elapsed $rss"
+}
+
+median() {
+    sort -n | awk '{v[NR] = $1} END {print v[int((NR + 1) / 2)]}'
+}
+
+run() {
+    local label=$1
+    shift
+    local results=()
+    for _ in $(seq "$ITERATIONS"); do
+        results+=("$(measure "$@")")
+    done
+    local time rss
+    time=$(printf '%s\n' "${results[@]}" | cut -d' ' -f1 | median)
+    rss=$(printf '%s\n' "${results[@]}" | cut -d' ' -f2 | median)
+    printf '%s\tprimera respuesta: %6s ms\tRSS: %7s KB\n' "$label" "$time" "$rss"
+}
+
+CLASSPATH="$THIN_JAR:target/lib/*"
+
+run "base        " java -cp "$CLASSPATH" "$MAIN_CLASS"
+run "solo AppCDS " java -XX:SharedArchiveFile="$CDS_ARCHIVE" -Xshare:auto -cp "$CLASSPATH" "$MAIN_CLASS"
+run "fast-startup" java -XX:SharedArchiveFile="$CDS_ARCHIVE" -Xshare:auto \
+    -Dspring.profiles.active=fast-startup -cp "$CLASSPATH" "$MAIN_CLASS"
@@ -0,0 +1,54 @@
+package com.upana.studentmanagement.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+// Training run for the AppCDS archive: exercises the main endpoints once so their classes get archived, then exits.
+@Component
+@Profile("cds-training")
+public class CdsTrainingRunner implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final String STUDENT_JSON =
+            "{\"nombre\":\"Entrenamiento CDS\",\"correo\":\"cds@example.com\",\"numero_telefono\":\"1234567890\",\"idioma\":\"español\"}";
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String base = "http://localhost:" + port + "/api/students";
+        HttpClient client = HttpClient.newHttpClient();
+
+        try {
+            send(client, HttpRequest.newBuilder(URI.create(base))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(STUDENT_JSON)));
+            send(client, HttpRequest.newBuilder(URI.create(base)).GET());
+            send(client, HttpRequest.newBuilder(URI.create(base)).header("Accept-Encoding", "gzip").GET());
+            send(client, HttpRequest.newBuilder(URI.create(base + "/1")).GET());
+            send(client, HttpRequest.newBuilder(URI.create(base + "/1?fields=id,nombre")).GET());
+            send(client, HttpRequest.newBuilder(URI.create(base + "/stats")).GET());
+            send(client, HttpRequest.newBuilder(URI.create(base + "/999")).GET());
+        } catch (IOException e) {
+            throw new IllegalStateException("Falló la ejecución de entrenamiento CDS", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        System.exit(SpringApplication.exit(context));
+    }
+
+    private static void send(HttpClient client, HttpRequest.Builder request) throws IOException, InterruptedException {
+        client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+    }
+}
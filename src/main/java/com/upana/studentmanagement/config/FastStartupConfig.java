@@ -0,0 +1,23 @@
+package com.upana.studentmanagement.config;
+
+import com.upana.studentmanagement.monitoring.RequestTimingInterceptor;
+import com.upana.studentmanagement.repository.StudentRepository;
+import com.upana.studentmanagement.service.StudentListCache;
+import com.upana.studentmanagement.service.StudentStatistics;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// The fast-startup profile makes beans lazy; these stay eager because they wire the store's change
+// listeners or bind configuration values, and a failure there should stop startup, not the first request.
+@Configuration
+@Profile("fast-startup")
+public class FastStartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(StudentRepository.class, StudentStatistics.class,
+                StudentListCache.class, RequestTimingInterceptor.class);
+    }
+}
@@ -0,0 +1,74 @@
+package com.upana.studentmanagement.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.upana.studentmanagement.monitoring.RequestTimingInterceptor;
+import com.upana.studentmanagement.monitoring.TimedValidator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+    private final ObjectProvider<javax.validation.Validator> beanValidator;
+    private final RequestTimingInterceptor requestTimingInterceptor;
+
+    @Autowired
+    public WebConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder,
+                     ObjectProvider<javax.validation.Validator> beanValidator,
+                     RequestTimingInterceptor requestTimingInterceptor) {
+        this.objectMapperBuilder = objectMapperBuilder;
+        this.beanValidator = beanValidator;
+        this.requestTimingInterceptor = requestTimingInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestTimingInterceptor).addPathPatterns("/api/**");
+    }
+
+    @Override
+    public Validator getValidator() {
+        javax.validation.Validator validator = beanValidator.getIfAvailable();
+        if (validator == null) {
+            return null;
+        }
+        SmartValidator delegate = validator instanceof SmartValidator
+                ? (SmartValidator) validator
+                : new SpringValidatorAdapter(validator);
+        return new TimedValidator(delegate);
+    }
+
+    // Spring MVC registers Smile and CBOR converters on its own, but builds them from a bare
+    // Jackson2ObjectMapperBuilder; swap them in place for ones built from Spring Boot's builder so
+    // spring.jackson.* properties and customizers apply to the binary formats as they do to JSON.
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.replaceAll(converter -> {
+            if (converter instanceof MappingJackson2SmileHttpMessageConverter) {
+                return new MappingJackson2SmileHttpMessageConverter(builder().factory(new SmileFactory()).build());
+            }
+            if (converter instanceof MappingJackson2CborHttpMessageConverter) {
+                return new MappingJackson2CborHttpMessageConverter(builder().factory(new CBORFactory()).build());
+            }
+            return converter;
+        });
+    }
+
+    private Jackson2ObjectMapperBuilder builder() {
+        return objectMapperBuilder.getIfAvailable(Jackson2ObjectMapperBuilder::json).createXmlMapper(false);
+    }
+}
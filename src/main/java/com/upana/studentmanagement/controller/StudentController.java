@@ -1,35 +1,150 @@
 package com.upana.studentmanagement.controller;
 
 import com.upana.studentmanagement.dto.StudentDTO;
+import com.upana.studentmanagement.dto.StudentField;
+import com.upana.studentmanagement.dto.StudentFieldsView;
+import com.upana.studentmanagement.dto.StudentLookupDTO;
+import com.upana.studentmanagement.dto.StudentLookupRequest;
+import com.upana.studentmanagement.dto.StudentQueryRequest;
+import com.upana.studentmanagement.dto.StudentQueryResultDTO;
+import com.upana.studentmanagement.dto.StudentStatsDTO;
+import com.upana.studentmanagement.repository.StudentSnapshot;
+import com.upana.studentmanagement.service.StudentExportService;
+import com.upana.studentmanagement.service.StudentImportService;
+import com.upana.studentmanagement.service.StudentListCache;
+import com.upana.studentmanagement.service.StudentQueryService;
 import com.upana.studentmanagement.service.StudentService;
 
 import javax.validation.Valid;
 import javax.validation.constraints.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 @RestController
 @RequestMapping("/api/students")
 @CrossOrigin(origins = "*")
 public class StudentController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final String SNAPSHOT_VERSION_HEADER = "X-Snapshot-Version";
+    private static final Object EXPORT_SNAPSHOT_KEY = new Object();
+    private static final List<MediaType> LIST_MEDIA_TYPES = List.of(MediaType.APPLICATION_JSON,
+            MediaType.valueOf("application/x-jackson-smile"), MediaType.APPLICATION_CBOR);
+
     private final StudentService studentService;
+    private final StudentImportService studentImportService;
+    private final StudentListCache studentListCache;
+    private final StudentExportService studentExportService;
+    private final StudentQueryService studentQueryService;
+    private final Duration exportTimeout;
 
     @Autowired
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService,
+                             StudentImportService studentImportService,
+                             StudentListCache studentListCache,
+                             StudentExportService studentExportService,
+                             StudentQueryService studentQueryService,
+                             @Value("${app.export.timeout:10m}") Duration exportTimeout) {
         this.studentService = studentService;
+        this.studentImportService = studentImportService;
+        this.studentListCache = studentListCache;
+        this.studentExportService = studentExportService;
+        this.studentQueryService = studentQueryService;
+        this.exportTimeout = exportTimeout;
     }
 
+    // One handler for every representation: the pre-compressed cache only holds JSON, so it is used only
+    // when JSON is what content negotiation would pick; anything else goes through the message converters.
     @GetMapping
-    public ResponseEntity<List<StudentDTO>> getAllStudents() {
-        List<StudentDTO> students = studentService.getAllStudents();
-        return ResponseEntity.ok(students);
+    public ResponseEntity<?> getAllStudents(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        String encoding = prefersJson(accept) ? StudentListCache.selectEncoding(acceptEncoding) : null;
+        if (encoding == null) {
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .body(studentService.getAllStudents());
+        }
+        StudentListCache.CachedList list = studentListCache.getList(encoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (list.getEncoding() != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, list.getEncoding());
+        }
+        return response.body(list.getBody());
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<StudentLookupDTO> getStudentsByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(studentService.getStudentsByIds(ids));
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<StudentLookupDTO> lookupStudents(@RequestBody StudentLookupRequest request) {
+        return ResponseEntity.ok(studentService.getStudentsByIds(request.getIds()));
+    }
+
+    @PostMapping("/query")
+    public ResponseEntity<StudentQueryResultDTO> queryStudents(@Valid @RequestBody StudentQueryRequest request) {
+        return ResponseEntity.ok(studentQueryService.query(request));
+    }
+
+    @GetMapping(params = {"fields", "!ids"})
+    public ResponseEntity<List<StudentFieldsView>> getAllStudents(@RequestParam String fields) {
+        return ResponseEntity.ok(studentService.getAllStudents(StudentField.parse(fields)));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<StudentStatsDTO> getStatistics() {
+        return ResponseEntity.ok(studentService.getStatistics());
+    }
+
+    // The snapshot pins old versions until it is closed, so the export gets a finite async timeout and the
+    // snapshot is released when the async request ends for any reason, even if the body is still blocked.
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportStudents(NativeWebRequest request) {
+        StudentSnapshot snapshot = studentExportService.openSnapshot();
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(EXPORT_SNAPSHOT_KEY,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest asyncRequest, Callable<T> task) {
+                        ((AsyncWebRequest) asyncRequest).setTimeout(exportTimeout.toMillis());
+                    }
+
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest asyncRequest, Callable<T> task) {
+                        snapshot.close();
+                    }
+                });
+        StreamingResponseBody stream = output -> {
+            try (snapshot) {
+                studentExportService.exportStudents(snapshot, output);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(SNAPSHOT_VERSION_HEADER, String.valueOf(snapshot.getVersion()))
+                .body(stream);
     }
 
     @GetMapping("/{id}")
@@ -38,12 +153,32 @@ public class StudentController {
         return ResponseEntity.ok(student);
     }
 
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<StudentFieldsView> getStudentById(@PathVariable Long id, @RequestParam String fields) {
+        return ResponseEntity.ok(studentService.getStudentById(id, StudentField.parse(fields)));
+    }
+
     @PostMapping
     public ResponseEntity<StudentDTO> createStudent(@Valid @RequestBody StudentDTO studentDTO) {
         StudentDTO createdStudent = studentService.createStudent(studentDTO);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdStudent);
     }
 
+    @PostMapping(value = "/import",
+            consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importStudents(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        StudentImportService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                ? StudentImportService.Format.NDJSON
+                : StudentImportService.Format.CSV;
+        StreamingResponseBody stream = output -> studentImportService.importStudents(body, format, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(stream);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<StudentDTO> updateStudent(
             @PathVariable Long id,
@@ -67,4 +202,28 @@ public class StudentController {
         response.put("mensaje", "Estudiante con ID " + id + " eliminado exitosamente");
         return ResponseEntity.ok(response);
     }
+
+    // Same ranking as Spring's content negotiation: each acceptable type is matched against what the
+    // converters produce for a student list, and the best-ranked match wins (JSON on ties, as it is first).
+    private static boolean prefersJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        List<MediaType> matches = new ArrayList<>();
+        for (MediaType acceptType : acceptable) {
+            for (MediaType produced : LIST_MEDIA_TYPES) {
+                if (acceptType.getQualityValue() > 0 && acceptType.isCompatibleWith(produced)) {
+                    matches.add(produced.copyQualityValue(acceptType));
+                }
+            }
+        }
+        MediaType.sortBySpecificityAndQuality(matches);
+        return !matches.isEmpty() && matches.get(0).equalsTypeAndSubtype(MediaType.APPLICATION_JSON);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.upana.studentmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ErrorResponse {
+
+    private int status;
+    private String mensaje;
+    private LocalDateTime timestamp;
+    private Map<String, String> errores;
+
+    public ErrorResponse(int status, String mensaje) {
+        this(status, mensaje, LocalDateTime.now(), null);
+    }
+}
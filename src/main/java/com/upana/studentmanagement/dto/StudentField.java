@@ -0,0 +1,57 @@
+package com.upana.studentmanagement.dto;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.upana.studentmanagement.exception.InvalidDataException;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum StudentField {
+
+    ID("id"),
+    NOMBRE("nombre"),
+    CORREO("correo"),
+    NUMERO_TELEFONO("numero_telefono"),
+    IDIOMA("idioma");
+
+    private final String nombre;
+    private final SerializableString serializedName;
+
+    StudentField(String nombre) {
+        this.nombre = nombre;
+        this.serializedName = new SerializedString(nombre);
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    SerializableString getSerializedName() {
+        return serializedName;
+    }
+
+    public static Set<StudentField> parse(String fields) {
+        Set<StudentField> result = EnumSet.noneOf(StudentField.class);
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            result.add(fromNombre(trimmed));
+        }
+        if (result.isEmpty()) {
+            throw new InvalidDataException("Debe indicar al menos un campo en 'fields'");
+        }
+        return result;
+    }
+
+    private static StudentField fromNombre(String nombre) {
+        for (StudentField field : values()) {
+            if (field.nombre.equals(nombre)) {
+                return field;
+            }
+        }
+        throw new InvalidDataException("Campo desconocido: " + nombre);
+    }
+}
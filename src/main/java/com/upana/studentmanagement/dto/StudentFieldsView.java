@@ -0,0 +1,70 @@
+package com.upana.studentmanagement.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.upana.studentmanagement.model.Student;
+
+import java.io.IOException;
+import java.util.Set;
+
+@JsonSerialize(using = StudentFieldsView.Serializer.class)
+public class StudentFieldsView {
+
+    private final Student student;
+    private final Set<StudentField> fields;
+
+    public StudentFieldsView(Student student, Set<StudentField> fields) {
+        this.student = student;
+        this.fields = fields;
+    }
+
+    public Student getStudent() {
+        return student;
+    }
+
+    public Set<StudentField> getFields() {
+        return fields;
+    }
+
+    static class Serializer extends StdSerializer<StudentFieldsView> {
+
+        Serializer() {
+            super(StudentFieldsView.class);
+        }
+
+        @Override
+        public void serialize(StudentFieldsView view, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Student student = view.student;
+            gen.writeStartObject();
+            for (StudentField field : view.fields) {
+                gen.writeFieldName(field.getSerializedName());
+                switch (field) {
+                    case ID:
+                        if (student.getId() == null) {
+                            gen.writeNull();
+                        } else {
+                            gen.writeNumber(student.getId());
+                        }
+                        break;
+                    case NOMBRE:
+                        gen.writeString(student.getNombre());
+                        break;
+                    case CORREO:
+                        gen.writeString(student.getCorreo());
+                        break;
+                    case NUMERO_TELEFONO:
+                        gen.writeString(student.getNumeroTelefono());
+                        break;
+                    case IDIOMA:
+                        gen.writeString(student.getIdioma());
+                        break;
+                    default:
+                        throw new IllegalStateException("Campo no soportado: " + field);
+                }
+            }
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.upana.studentmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StudentImportEventDTO {
+
+    private String tipo;
+    private Long linea;
+    private String mensaje;
+    private Long procesadas;
+    private Long importadas;
+    private Long errores;
+
+    public static StudentImportEventDTO error(long linea, String mensaje) {
+        return new StudentImportEventDTO("error", linea, mensaje, null, null, null);
+    }
+
+    public static StudentImportEventDTO progreso(long procesadas, long importadas, long errores) {
+        return new StudentImportEventDTO("progreso", null, null, procesadas, importadas, errores);
+    }
+
+    public static StudentImportEventDTO resumen(long procesadas, long importadas, long errores) {
+        return new StudentImportEventDTO("resumen", null, null, procesadas, importadas, errores);
+    }
+}
@@ -0,0 +1,19 @@
+package com.upana.studentmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentLookupDTO {
+
+    private List<StudentDTO> estudiantes;
+
+    @JsonProperty("no_encontrados")
+    private List<Long> noEncontrados;
+}
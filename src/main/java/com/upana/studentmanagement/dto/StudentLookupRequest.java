@@ -0,0 +1,16 @@
+package com.upana.studentmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+// Validated by StudentService.getStudentsByIds, shared with GET ?ids=, so both entry points apply the same rules.
+public class StudentLookupRequest {
+
+    private List<Long> ids;
+}
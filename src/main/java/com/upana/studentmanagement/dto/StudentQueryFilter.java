@@ -0,0 +1,22 @@
+package com.upana.studentmanagement.dto;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentQueryFilter {
+
+    @NotBlank(message = "El campo del filtro es obligatorio")
+    private String campo;
+
+    @NotBlank(message = "El operador del filtro es obligatorio")
+    private String operador;
+
+    @NotNull(message = "El valor del filtro es obligatorio")
+    private String valor;
+}
@@ -0,0 +1,30 @@
+package com.upana.studentmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentQueryRequest {
+
+    private List<@NotNull(message = "Los filtros no pueden ser nulos") @Valid StudentQueryFilter> filtros;
+
+    @JsonProperty("agrupar_por")
+    private String agruparPor;
+
+    @JsonProperty("solo_contar")
+    private boolean soloContar;
+
+    @Min(value = 1, message = "El límite debe ser al menos 1")
+    @Max(value = 10000, message = "El límite no puede exceder 10000")
+    private Integer limite;
+}
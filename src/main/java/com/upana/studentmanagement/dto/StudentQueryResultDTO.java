@@ -0,0 +1,31 @@
+package com.upana.studentmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StudentQueryResultDTO {
+
+    private Long coincidencias;
+
+    private Map<String, Long> grupos;
+
+    // In scan order, not by id: with truncado=true these are whichever matches the scan reached first.
+    private List<StudentDTO> estudiantes;
+
+    private boolean truncado;
+
+    private long version;
+
+    @JsonProperty("tiempo_escaneo_ms")
+    private double tiempoEscaneoMs;
+}
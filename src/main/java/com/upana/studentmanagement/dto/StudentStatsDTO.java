@@ -0,0 +1,22 @@
+package com.upana.studentmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentStatsDTO {
+
+    private long total;
+
+    @JsonProperty("por_idioma")
+    private Map<String, Long> porIdioma;
+
+    @JsonProperty("por_dominio")
+    private Map<String, Long> porDominio;
+}
@@ -0,0 +1,139 @@
+package com.upana.studentmanagement.exception;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.upana.studentmanagement.dto.ErrorResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingRequestHeaderException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public GlobalExceptionHandler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleNotFound(ResourceNotFoundException ex) {
+        return build(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    @ExceptionHandler(DuplicateResourceException.class)
+    public ResponseEntity<ErrorResponse> handleDuplicate(DuplicateResourceException ex) {
+        return build(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidDataException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidData(InvalidDataException ex) {
+        return build(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    // The request itself may be valid; the server gave up on it, so it is not reported as a client error.
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleQueryTimeout(QueryTimeoutException ex) {
+        return build(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException ex) {
+        Map<String, String> errores = new LinkedHashMap<>();
+        Object target = ex.getBindingResult().getTarget();
+        for (FieldError error : ex.getBindingResult().getFieldErrors()) {
+            String campo = target == null ? error.getField() : jsonPath(target.getClass(), error.getField());
+            errores.putIfAbsent(campo, error.getDefaultMessage());
+        }
+        ErrorResponse body = new ErrorResponse(HttpStatus.BAD_REQUEST.value(),
+                "Error de validación", LocalDateTime.now(), errores);
+        return ResponseEntity.badRequest().body(body);
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleUnreadable(HttpMessageNotReadableException ex) {
+        return build(HttpStatus.BAD_REQUEST, "El cuerpo de la petición no es válido");
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        return build(HttpStatus.BAD_REQUEST, "Valor inválido para '" + ex.getName() + "': " + ex.getValue());
+    }
+
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ErrorResponse> handleMissingParameter(MissingServletRequestParameterException ex) {
+        return build(HttpStatus.BAD_REQUEST, "Falta el parámetro obligatorio '" + ex.getParameterName() + "'");
+    }
+
+    @ExceptionHandler(MissingRequestHeaderException.class)
+    public ResponseEntity<ErrorResponse> handleMissingHeader(MissingRequestHeaderException ex) {
+        return build(HttpStatus.BAD_REQUEST, "Falta el encabezado obligatorio '" + ex.getHeaderName() + "'");
+    }
+
+    @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
+    public ResponseEntity<ErrorResponse> handleMethodNotSupported(HttpRequestMethodNotSupportedException ex) {
+        HttpStatus status = HttpStatus.METHOD_NOT_ALLOWED;
+        return ResponseEntity.status(status)
+                .allow(ex.getSupportedHttpMethods() == null ? new HttpMethod[0]
+                        : ex.getSupportedHttpMethods().toArray(new HttpMethod[0]))
+                .body(new ErrorResponse(status.value(), "Método " + ex.getMethod() + " no soportado"));
+    }
+
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<ErrorResponse> handleMediaTypeNotSupported(HttpMediaTypeNotSupportedException ex) {
+        return build(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Tipo de contenido no soportado: " + ex.getContentType());
+    }
+
+    // Maps a bean-validation path such as "filtros[0].valor" to the names the client sent in the JSON body.
+    private String jsonPath(Class<?> rootType, String field) {
+        StringBuilder path = new StringBuilder(field.length());
+        JavaType type = objectMapper.constructType(rootType);
+        for (String segment : field.split("\\.")) {
+            int bracket = segment.indexOf('[');
+            String name = bracket < 0 ? segment : segment.substring(0, bracket);
+            BeanPropertyDefinition property = type == null ? null : findProperty(type, name);
+            if (path.length() > 0) {
+                path.append('.');
+            }
+            path.append(property == null ? name : property.getName());
+            if (bracket >= 0) {
+                path.append(segment, bracket, segment.length());
+            }
+            type = property == null ? null : property.getPrimaryType();
+            if (type != null && bracket >= 0 && type.getContentType() != null) {
+                type = type.getContentType();
+            }
+        }
+        return path.toString();
+    }
+
+    private BeanPropertyDefinition findProperty(JavaType type, String internalName) {
+        for (BeanPropertyDefinition property : objectMapper.getDeserializationConfig().introspect(type).findProperties()) {
+            if (property.getInternalName().equals(internalName)) {
+                return property;
+            }
+        }
+        return null;
+    }
+
+    private static ResponseEntity<ErrorResponse> build(HttpStatus status, String mensaje) {
+        return ResponseEntity.status(status).body(new ErrorResponse(status.value(), mensaje));
+    }
+}
@@ -2,6 +2,6 @@ package com.upana.studentmanagement.exception;
 
 public class InvalidDataException extends RuntimeException {
     public InvalidDataException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package com.upana.studentmanagement.exception;
+
+public class QueryTimeoutException extends RuntimeException {
+    public QueryTimeoutException(String message) {
+        super(message, null, false, false);
+    }
+}
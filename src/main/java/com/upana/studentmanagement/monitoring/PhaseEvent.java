@@ -0,0 +1,21 @@
+package com.upana.studentmanagement.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.upana.studentmanagement.RequestPhase")
+@Label("Fase de petición")
+@Description("Duración de una fase del procesamiento de una petición a /api/students")
+@Category({"Student Management API"})
+@Enabled(false)
+@StackTrace(false)
+class PhaseEvent extends Event {
+
+    @Label("Fase")
+    String phase;
+}
@@ -0,0 +1,61 @@
+package com.upana.studentmanagement.monitoring;
+
+import jdk.jfr.EventType;
+
+public final class PhaseTimer {
+
+    public static final String DESERIALIZATION = "deserialization";
+    public static final String VALIDATION = "validation";
+    public static final String DUPLICATE_CHECK = "duplicate-check";
+    public static final String STORE = "store";
+    public static final String SERIALIZATION = "serialization";
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(PhaseEvent.class);
+
+    // Handed out when neither JFR nor Server-Timing wants the phase, so timing a phase allocates nothing.
+    private static final PhaseTimer NOOP = new PhaseTimer(null, null, null, 0L);
+
+    private final String phase;
+    private final PhaseEvent event;
+    private final RequestTiming timing;
+    private final long start;
+
+    private PhaseTimer(String phase, PhaseEvent event, RequestTiming timing, long start) {
+        this.phase = phase;
+        this.event = event;
+        this.timing = timing;
+        this.start = start;
+    }
+
+    public static PhaseTimer start(String phase) {
+        boolean jfr = EVENT_TYPE.isEnabled();
+        RequestTiming timing = RequestTiming.current();
+        boolean serverTiming = timing != null && timing.isServerTimingEnabled();
+        if (!jfr && !serverTiming) {
+            return NOOP;
+        }
+        PhaseEvent event = null;
+        if (jfr) {
+            event = new PhaseEvent();
+            event.begin();
+        }
+        return new PhaseTimer(phase, event, serverTiming ? timing : null, serverTiming ? System.nanoTime() : 0L);
+    }
+
+    static boolean isEventEnabled() {
+        return EVENT_TYPE.isEnabled();
+    }
+
+    public void stop() {
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = phase;
+                event.commit();
+            }
+        }
+        if (timing != null) {
+            timing.record(phase, System.nanoTime() - start);
+        }
+    }
+}
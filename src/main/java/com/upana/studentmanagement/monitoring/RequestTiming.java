@@ -0,0 +1,61 @@
+package com.upana.studentmanagement.monitoring;
+
+import java.util.Locale;
+
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final StringBuilder serverTiming;
+    private PhaseTimer pending;
+
+    private RequestTiming(boolean serverTimingEnabled) {
+        this.serverTiming = serverTimingEnabled ? new StringBuilder() : null;
+    }
+
+    static RequestTiming begin(boolean serverTimingEnabled) {
+        RequestTiming timing = new RequestTiming(serverTimingEnabled);
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.stopPending();
+            CURRENT.remove();
+        }
+    }
+
+    boolean isServerTimingEnabled() {
+        return serverTiming != null;
+    }
+
+    void startPending(String phase) {
+        stopPending();
+        pending = PhaseTimer.start(phase);
+    }
+
+    void stopPending() {
+        if (pending != null) {
+            PhaseTimer timer = pending;
+            pending = null;
+            timer.stop();
+        }
+    }
+
+    void record(String phase, long nanos) {
+        if (serverTiming.length() > 0) {
+            serverTiming.append(", ");
+        }
+        serverTiming.append(phase).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+    }
+
+    String getServerTimingHeader() {
+        return serverTiming == null || serverTiming.length() == 0 ? null : serverTiming.toString();
+    }
+}
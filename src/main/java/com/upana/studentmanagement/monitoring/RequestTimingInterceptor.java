@@ -0,0 +1,48 @@
+package com.upana.studentmanagement.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@Component
+public class RequestTimingInterceptor implements AsyncHandlerInterceptor {
+
+    private final boolean serverTimingEnabled;
+
+    public RequestTimingInterceptor(@Value("${app.server-timing.enabled:false}") boolean serverTimingEnabled) {
+        this.serverTimingEnabled = serverTimingEnabled;
+    }
+
+    // Without Server-Timing or a JFR recording there is nothing to collect, so no per-request state is set up.
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (serverTimingEnabled || PhaseTimer.isEventEnabled()) {
+            RequestTiming.begin(serverTimingEnabled);
+        }
+        return true;
+    }
+
+    // @ResponseBody handlers have written the body by now, so this closes the serialization phase.
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.stopPending();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestTiming.end();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTiming.end();
+    }
+}
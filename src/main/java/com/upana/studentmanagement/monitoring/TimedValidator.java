@@ -0,0 +1,38 @@
+package com.upana.studentmanagement.monitoring;
+
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+public class TimedValidator implements SmartValidator {
+
+    private final SmartValidator delegate;
+
+    public TimedValidator(SmartValidator delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        PhaseTimer timer = PhaseTimer.start(PhaseTimer.VALIDATION);
+        try {
+            delegate.validate(target, errors);
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        PhaseTimer timer = PhaseTimer.start(PhaseTimer.VALIDATION);
+        try {
+            delegate.validate(target, errors, validationHints);
+        } finally {
+            timer.stop();
+        }
+    }
+}
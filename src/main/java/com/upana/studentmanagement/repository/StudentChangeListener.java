@@ -0,0 +1,10 @@
+package com.upana.studentmanagement.repository;
+
+import com.upana.studentmanagement.model.Student;
+
+// Notified under the repository's write lock with the head version being replaced (null on insert)
+// and the new one (null on delete). Implementations must be quick and must not modify either value.
+public interface StudentChangeListener {
+
+    void onCommit(Student previous, Student current);
+}
@@ -1,64 +1,344 @@
 package com.upana.studentmanagement.repository;
 
+import com.upana.studentmanagement.exception.DuplicateResourceException;
 import com.upana.studentmanagement.model.Student;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Spliterator;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+// Multi-version store: each id maps to a chain of immutable versions (newest first), so snapshots
+// can read a consistent point in time while writers keep committing. Writers are serialized on
+// writeLock; readers never take it.
 @Repository
 public class StudentRepository {
 
-    private final Map<Long, Student> students = new ConcurrentHashMap<>();
+    private final Map<Long, StudentVersion> students = new ConcurrentHashMap<>();
+    // Latest correo (lowercased) -> id, kept in step with the heads by install().
+    private final Map<String, Long> correoIndex = new ConcurrentHashMap<>();
     private final AtomicLong idGenerator = new AtomicLong(1);
+    private final Object writeLock = new Object();
+    private final ConcurrentNavigableMap<Long, Integer> activeSnapshots = new ConcurrentSkipListMap<>();
+    private final Queue<SupersededVersion> superseded = new ArrayDeque<>();
+    private volatile long version;
+    private volatile long gcWatermark;
+    private final List<StudentChangeListener> listeners;
+
+    public StudentRepository() {
+        this(List.of());
+    }
+
+    @Autowired
+    public StudentRepository(List<StudentChangeListener> listeners) {
+        this.listeners = List.copyOf(listeners);
+    }
 
     public List<Student> findAll() {
-        return new ArrayList<>(students.values());
+        try (StudentSnapshot snapshot = openSnapshot()) {
+            return snapshot.findAll();
+        }
     }
 
     public Optional<Student> findById(Long id) {
-        return Optional.ofNullable(students.get(id));
+        return Optional.ofNullable(copy(latest(id)));
+    }
+
+    public Map<Long, Student> findAllById(Collection<Long> ids) {
+        try (StudentSnapshot snapshot = openSnapshot()) {
+            return snapshot.findAllById(ids);
+        }
     }
 
     public Optional<Student> findByCorreo(String correo) {
-        return students.values().stream()
-                .filter(s -> s.getCorreo().equalsIgnoreCase(correo))
-                .findFirst();
+        Long id = correoIndex.get(correoKey(correo));
+        return id == null ? Optional.empty() : findById(id);
     }
 
     public Student save(Student student) {
-        if (student.getId() == null) {
-            student.setId(idGenerator.getAndIncrement());
+        synchronized (writeLock) {
+            if (student.getId() == null) {
+                student.setId(idGenerator.getAndIncrement());
+            }
+            commit(student.getId(), copy(student));
         }
-        students.put(student.getId(), student);
         return student;
     }
 
+    // Returns null if the student was deleted after the caller read it.
     public Student update(Student student) {
-        students.put(student.getId(), student);
+        synchronized (writeLock) {
+            if (latest(student.getId()) == null) {
+                return null;
+            }
+            commit(student.getId(), copy(student));
+        }
         return student;
     }
 
+    // The correo check and the write happen under the same lock, so two concurrent requests with the
+    // same correo cannot both get through; the caller's own pre-check is only a lock-free fast path.
+    public Student saveIfCorreoAbsent(Student student) {
+        synchronized (writeLock) {
+            if (correoIndex.containsKey(correoKey(student.getCorreo()))) {
+                throw new DuplicateResourceException("Ya existe un estudiante con el correo: " + student.getCorreo());
+            }
+            return save(student);
+        }
+    }
+
+    // Returns null if the student was deleted after the caller read it.
+    public Student updateIfCorreoFree(Student student) {
+        synchronized (writeLock) {
+            if (latest(student.getId()) == null) {
+                return null;
+            }
+            if (existsByCorreoAndIdNot(student.getCorreo(), student.getId())) {
+                throw new DuplicateResourceException("Ya existe otro estudiante con el correo: " + student.getCorreo());
+            }
+            return update(student);
+        }
+    }
+
     public boolean deleteById(Long id) {
-        return students.remove(id) != null;
+        synchronized (writeLock) {
+            if (latest(id) == null) {
+                return false;
+            }
+            commit(id, null);
+            return true;
+        }
     }
 
     public boolean existsByCorreo(String correo) {
-        return students.values().stream()
-                .anyMatch(s -> s.getCorreo().equalsIgnoreCase(correo));
+        return correoIndex.containsKey(correoKey(correo));
     }
 
     public boolean existsByCorreoAndIdNot(String correo, Long excludeId) {
-        return students.values().stream()
-                .anyMatch(s -> s.getCorreo().equalsIgnoreCase(correo) && !s.getId().equals(excludeId));
+        Long id = correoIndex.get(correoKey(correo));
+        return id != null && !id.equals(excludeId);
     }
 
     public void deleteAll() {
-        students.clear();
-        idGenerator.set(1);
+        synchronized (writeLock) {
+            long next = version + 1;
+            students.forEach((id, head) -> {
+                if (head.value != null) {
+                    install(id, null, head, next);
+                }
+            });
+            idGenerator.set(1);
+            version = next;
+            collectGarbage();
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public StudentSnapshot openSnapshot() {
+        while (true) {
+            long snapshotVersion = version;
+            activeSnapshots.merge(snapshotVersion, 1, Integer::sum);
+            // A collection that started after we registered sees us; one that started before
+            // published a watermark we can check, so retry if it may have pruned our versions.
+            if (gcWatermark <= snapshotVersion) {
+                return new StudentSnapshot(this, snapshotVersion);
+            }
+            release(snapshotVersion);
+        }
+    }
+
+    void release(long snapshotVersion) {
+        activeSnapshots.computeIfPresent(snapshotVersion, (v, count) -> count == 1 ? null : count - 1);
+    }
+
+    Student readAt(Long id, long snapshotVersion) {
+        return visibleAt(students.get(id), snapshotVersion);
+    }
+
+    Stream<Student> streamAt(long snapshotVersion) {
+        return students.values().stream()
+                .map(head -> visibleAt(head, snapshotVersion))
+                .filter(s -> s != null);
+    }
+
+    void parallelForEachAt(ForkJoinPool pool, long snapshotVersion, Consumer<Student> action, BooleanSupplier stop) {
+        pool.invoke(new ScanTask(students.values().spliterator(), snapshotVersion, action, stop));
+    }
+
+    long countActiveSnapshots() {
+        return activeSnapshots.values().stream().mapToLong(Integer::longValue).sum();
+    }
+
+    long countVersions() {
+        long count = 0;
+        for (StudentVersion head : students.values()) {
+            for (StudentVersion node = head; node != null; node = node.previous) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static Student copy(Student student) {
+        if (student == null) {
+            return null;
+        }
+        return new Student(student.getId(), student.getNombre(), student.getCorreo(),
+                student.getNumeroTelefono(), student.getIdioma());
+    }
+
+    private Student latest(Long id) {
+        StudentVersion head = students.get(id);
+        return head == null ? null : head.value;
+    }
+
+    private static String correoKey(String correo) {
+        return correo.toLowerCase(Locale.ROOT);
+    }
+
+    private void commit(Long id, Student value) {
+        long next = version + 1;
+        install(id, value, students.get(id), next);
+        version = next;
+        collectGarbage();
+    }
+
+    private void install(Long id, Student value, StudentVersion previous, long commitVersion) {
+        students.put(id, new StudentVersion(commitVersion, value, previous));
+        if (previous != null) {
+            superseded.add(new SupersededVersion(id, commitVersion));
+        }
+        Student previousValue = previous == null ? null : previous.value;
+        if (previousValue != null) {
+            correoIndex.remove(correoKey(previousValue.getCorreo()), id);
+        }
+        if (value != null) {
+            correoIndex.put(correoKey(value.getCorreo()), id);
+        }
+        for (StudentChangeListener listener : listeners) {
+            listener.onCommit(previousValue, value);
+        }
+    }
+
+    // Runs under writeLock. A version superseded at V can be dropped once every snapshot is at V or later.
+    private void collectGarbage() {
+        long watermark = version;
+        gcWatermark = watermark;
+        // release() runs without writeLock, so the map can empty between two calls; read it once.
+        Map.Entry<Long, Integer> oldestSnapshot = activeSnapshots.firstEntry();
+        long horizon = oldestSnapshot == null ? watermark : Math.min(oldestSnapshot.getKey(), watermark);
+
+        while (!superseded.isEmpty() && superseded.peek().version <= horizon) {
+            Long id = superseded.poll().id;
+            StudentVersion head = students.get(id);
+            StudentVersion node = head;
+            while (node != null && node.version > horizon) {
+                node = node.previous;
+            }
+            if (node != null) {
+                node.previous = null;
+            }
+            if (head != null && head.value == null && head.version <= horizon) {
+                students.remove(id, head);
+            }
+        }
+    }
+
+    private static Student visibleAt(StudentVersion head, long snapshotVersion) {
+        StudentVersion node = head;
+        while (node != null && node.version > snapshotVersion) {
+            node = node.previous;
+        }
+        return node == null ? null : node.value;
+    }
+
+    // Splits the map by its internal bin ranges and scans the pieces in parallel; stop() is polled per element.
+    private static final class ScanTask extends RecursiveAction {
+
+        private static final long SPLIT_THRESHOLD = 4096;
+
+        private final Spliterator<StudentVersion> spliterator;
+        private final long snapshotVersion;
+        private final Consumer<Student> action;
+        private final BooleanSupplier stop;
+
+        private ScanTask(Spliterator<StudentVersion> spliterator, long snapshotVersion,
+                         Consumer<Student> action, BooleanSupplier stop) {
+            this.spliterator = spliterator;
+            this.snapshotVersion = snapshotVersion;
+            this.action = action;
+            this.stop = stop;
+        }
+
+        @Override
+        protected void compute() {
+            List<ScanTask> forked = new ArrayList<>();
+            Spliterator<StudentVersion> remaining = spliterator;
+            while (remaining.estimateSize() > SPLIT_THRESHOLD && !stop.getAsBoolean()) {
+                Spliterator<StudentVersion> prefix = remaining.trySplit();
+                if (prefix == null) {
+                    break;
+                }
+                ScanTask task = new ScanTask(prefix, snapshotVersion, action, stop);
+                task.fork();
+                forked.add(task);
+            }
+
+            Consumer<StudentVersion> visit = head -> {
+                Student student = visibleAt(head, snapshotVersion);
+                if (student != null) {
+                    action.accept(student);
+                }
+            };
+            boolean more = true;
+            while (more && !stop.getAsBoolean()) {
+                more = remaining.tryAdvance(visit);
+            }
+
+            for (ScanTask task : forked) {
+                task.join();
+            }
+        }
+    }
+
+    private static final class StudentVersion {
+        private final long version;
+        private final Student value;
+        private volatile StudentVersion previous;
+
+        private StudentVersion(long version, Student value, StudentVersion previous) {
+            this.version = version;
+            this.value = value;
+            this.previous = previous;
+        }
+    }
+
+    private static final class SupersededVersion {
+        private final long id;
+        private final long version;
+
+        private SupersededVersion(long id, long version) {
+            this.id = id;
+            this.version = version;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,85 @@
+package com.upana.studentmanagement.repository;
+
+import com.upana.studentmanagement.model.Student;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Reads check the closed flag after touching the version chains: close() sets it before releasing the
+// version, so a read that could have seen pruned chains always fails instead of returning partial data.
+public class StudentSnapshot implements AutoCloseable {
+
+    private final StudentRepository repository;
+    private final long version;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    StudentSnapshot(StudentRepository repository, long version) {
+        this.repository = repository;
+        this.version = version;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Optional<Student> findById(Long id) {
+        Student student = repository.readAt(id, version);
+        ensureOpen();
+        return Optional.ofNullable(StudentRepository.copy(student));
+    }
+
+    public Map<Long, Student> findAllById(Collection<Long> ids) {
+        Map<Long, Student> result = new HashMap<>();
+        for (Long id : ids) {
+            if (!result.containsKey(id)) {
+                Student student = repository.readAt(id, version);
+                ensureOpen();
+                if (student != null) {
+                    result.put(id, StudentRepository.copy(student));
+                }
+            }
+        }
+        return result;
+    }
+
+    public List<Student> findAll() {
+        return stream()
+                .map(StudentRepository::copy)
+                .collect(Collectors.toList());
+    }
+
+    // Returns the stored versions themselves to avoid a copy per row; callers must not modify them.
+    public Stream<Student> stream() {
+        return repository.streamAt(version).peek(student -> ensureOpen());
+    }
+
+    // Same contract as stream(): the action receives stored versions and runs on the given pool's threads.
+    public void parallelForEach(ForkJoinPool pool, Consumer<Student> action, BooleanSupplier stop) {
+        repository.parallelForEachAt(pool, version, student -> {
+            ensureOpen();
+            action.accept(student);
+        }, stop);
+    }
+
+    private void ensureOpen() {
+        if (closed.get()) {
+            throw new IllegalStateException("La instantánea " + version + " ya fue liberada");
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            repository.release(version);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.upana.studentmanagement.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.upana.studentmanagement.dto.StudentDTO;
+import com.upana.studentmanagement.model.Student;
+import com.upana.studentmanagement.repository.StudentRepository;
+import com.upana.studentmanagement.repository.StudentSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+@Service
+public class StudentExportService {
+
+    private final StudentRepository repository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+
+    @Autowired
+    public StudentExportService(StudentRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writerFor(StudentDTO.class);
+    }
+
+    public StudentSnapshot openSnapshot() {
+        return repository.openSnapshot();
+    }
+
+    public long exportStudents(StudentSnapshot snapshot, OutputStream output) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<Student> students = snapshot.stream().iterator();
+            while (students.hasNext()) {
+                Student student = students.next();
+                writer.writeValue(generator, new StudentDTO(student.getId(), student.getNombre(),
+                        student.getCorreo(), student.getNumeroTelefono(), student.getIdioma()));
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+}
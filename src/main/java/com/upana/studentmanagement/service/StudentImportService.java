@@ -0,0 +1,253 @@
+package com.upana.studentmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upana.studentmanagement.dto.StudentDTO;
+import com.upana.studentmanagement.dto.StudentImportEventDTO;
+import com.upana.studentmanagement.exception.DuplicateResourceException;
+import com.upana.studentmanagement.exception.InvalidDataException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+
+@Service
+public class StudentImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_CHUNKS_IN_FLIGHT = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+
+    private static final String[] DEFAULT_COLUMNS = {"nombre", "correo", "numero_telefono", "idioma"};
+    private static final byte[] NEW_LINE = {'\n'};
+
+    private final StudentService studentService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    @Autowired
+    public StudentImportService(StudentService studentService, Validator validator, ObjectMapper objectMapper) {
+        this.studentService = studentService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+    }
+
+    public StudentImportEventDTO importStudents(InputStream input, Format format, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Deque<ForkJoinTask<List<ParsedRow>>> inFlight = new ArrayDeque<>();
+        Counters counters = new Counters();
+        String[] columns = DEFAULT_COLUMNS;
+        long lineNumber = 0;
+
+        try {
+            List<String> lines = new ArrayList<>(CHUNK_SIZE);
+            long firstLine = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (format == Format.CSV && lineNumber == 1 && isCsvHeader(line)) {
+                    columns = parseCsvLine(line).stream()
+                            .map(c -> c.trim().toLowerCase(Locale.ROOT))
+                            .toArray(String[]::new);
+                    firstLine = 2;
+                    continue;
+                }
+                lines.add(line);
+                if (lines.size() == CHUNK_SIZE) {
+                    submit(inFlight, format, columns, firstLine, lines, counters, output);
+                    lines = new ArrayList<>(CHUNK_SIZE);
+                    firstLine = lineNumber + 1;
+                }
+            }
+            if (!lines.isEmpty()) {
+                submit(inFlight, format, columns, firstLine, lines, counters, output);
+            }
+            while (!inFlight.isEmpty()) {
+                apply(inFlight.poll().join(), counters, output);
+            }
+        } finally {
+            inFlight.forEach(task -> task.cancel(true));
+        }
+
+        StudentImportEventDTO resumen = StudentImportEventDTO.resumen(counters.procesadas, counters.importadas, counters.errores);
+        write(output, resumen);
+        output.flush();
+        return resumen;
+    }
+
+    private void submit(Deque<ForkJoinTask<List<ParsedRow>>> inFlight, Format format, String[] columns, long firstLine,
+                        List<String> lines, Counters counters, OutputStream output) throws IOException {
+        while (inFlight.size() >= MAX_CHUNKS_IN_FLIGHT) {
+            apply(inFlight.poll().join(), counters, output);
+        }
+        inFlight.add(pool.submit(() -> parseChunk(format, columns, firstLine, lines)));
+    }
+
+    private void apply(List<ParsedRow> rows, Counters counters, OutputStream output) throws IOException {
+        for (ParsedRow row : rows) {
+            counters.procesadas++;
+            String error = row.error;
+            if (error == null) {
+                try {
+                    studentService.createStudent(row.student);
+                    counters.importadas++;
+                } catch (DuplicateResourceException | InvalidDataException e) {
+                    error = e.getMessage();
+                }
+            }
+            if (error != null) {
+                counters.errores++;
+                write(output, StudentImportEventDTO.error(row.linea, error));
+            }
+        }
+        write(output, StudentImportEventDTO.progreso(counters.procesadas, counters.importadas, counters.errores));
+        output.flush();
+    }
+
+    private List<ParsedRow> parseChunk(Format format, String[] columns, long firstLine, List<String> lines) {
+        List<ParsedRow> rows = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            long linea = firstLine + i;
+            try {
+                StudentDTO student = format == Format.CSV ? fromCsv(columns, line) : fromJson(line);
+                String violations = validate(student);
+                rows.add(violations == null ? new ParsedRow(linea, student, null) : new ParsedRow(linea, null, violations));
+            } catch (InvalidDataException e) {
+                rows.add(new ParsedRow(linea, null, e.getMessage()));
+            }
+        }
+        return rows;
+    }
+
+    private StudentDTO fromJson(String line) {
+        StudentDTO student;
+        try {
+            student = objectMapper.readValue(line, StudentDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new InvalidDataException("JSON inválido: " + e.getOriginalMessage());
+        }
+        if (student == null) {
+            throw new InvalidDataException("Se esperaba un objeto JSON por línea");
+        }
+        return student;
+    }
+
+    private StudentDTO fromCsv(String[] columns, String line) {
+        List<String> values = parseCsvLine(line);
+        if (values.size() != columns.length) {
+            throw new InvalidDataException("Se esperaban " + columns.length + " columnas pero se encontraron " + values.size());
+        }
+        StudentDTO student = new StudentDTO();
+        for (int i = 0; i < columns.length; i++) {
+            String value = values.get(i).trim();
+            switch (columns[i]) {
+                case "nombre":
+                    student.setNombre(value);
+                    break;
+                case "correo":
+                    student.setCorreo(value);
+                    break;
+                case "numero_telefono":
+                    student.setNumeroTelefono(value);
+                    break;
+                case "idioma":
+                    student.setIdioma(value);
+                    break;
+                default:
+                    break;
+            }
+        }
+        return student;
+    }
+
+    private String validate(StudentDTO student) {
+        Set<ConstraintViolation<StudentDTO>> violations = validator.validate(student);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void write(OutputStream output, StudentImportEventDTO event) throws IOException {
+        output.write(objectMapper.writeValueAsBytes(event));
+        output.write(NEW_LINE);
+    }
+
+    static boolean isCsvHeader(String line) {
+        List<String> values = parseCsvLine(line.toLowerCase(Locale.ROOT));
+        return values.stream().map(String::trim).anyMatch(Arrays.asList(DEFAULT_COLUMNS)::contains);
+    }
+
+    // Fields may be quoted with "..." and use "" as an escaped quote; quoted line breaks are not supported.
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static final class ParsedRow {
+        private final long linea;
+        private final StudentDTO student;
+        private final String error;
+
+        private ParsedRow(long linea, StudentDTO student, String error) {
+            this.linea = linea;
+            this.student = student;
+            this.error = error;
+        }
+    }
+
+    private static final class Counters {
+        private long procesadas;
+        private long importadas;
+        private long errores;
+    }
+}
@@ -0,0 +1,161 @@
+package com.upana.studentmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upana.studentmanagement.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+public class StudentListCache {
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    private final StudentRepository repository;
+    private final StudentService studentService;
+    private final ObjectMapper objectMapper;
+    private final long minCompressedSize;
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public StudentListCache(StudentRepository repository, StudentService studentService, ObjectMapper objectMapper,
+                            @Value("${server.compression.min-response-size:2KB}") DataSize minCompressedSize) {
+        this.repository = repository;
+        this.studentService = studentService;
+        this.objectMapper = objectMapper;
+        this.minCompressedSize = minCompressedSize.toBytes();
+    }
+
+    // Lists under server.compression.min-response-size are returned as plain JSON, like Tomcat would.
+    public CachedList getList(String encoding) {
+        Snapshot current = currentSnapshot();
+        if (current.json.length < minCompressedSize) {
+            return new CachedList(current.json, null);
+        }
+        return new CachedList(GZIP.equals(encoding) ? current.gzip() : current.deflate(), encoding);
+    }
+
+    public static String selectEncoding(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        boolean deflate = false;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().toLowerCase(Locale.ROOT).split(";");
+            if (isRejected(parts)) {
+                continue;
+            }
+            if (GZIP.equals(parts[0].trim())) {
+                return GZIP;
+            }
+            deflate |= DEFLATE.equals(parts[0].trim());
+        }
+        return deflate ? DEFLATE : null;
+    }
+
+    private Snapshot currentSnapshot() {
+        long version = repository.getVersion();
+        Snapshot current = snapshot;
+        if (current != null && current.version == version) {
+            return current;
+        }
+        // The version is read before the list so a concurrent write can only make the snapshot look stale, never fresh.
+        byte[] json = serialize();
+        current = new Snapshot(version, json);
+        snapshot = current;
+        return current;
+    }
+
+    private byte[] serialize() {
+        try {
+            return objectMapper.writeValueAsBytes(studentService.getAllStudents());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] compress(byte[] data, boolean gzip) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (OutputStream out = gzip ? new GZIPOutputStream(buffer) : new DeflaterOutputStream(buffer)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static boolean isRejected(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2)) <= 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public static final class CachedList {
+        private final byte[] body;
+        private final String encoding;
+
+        public CachedList(byte[] body, String encoding) {
+            this.body = body;
+            this.encoding = encoding;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        // Null when the body is not compressed.
+        public String getEncoding() {
+            return encoding;
+        }
+    }
+
+    // Each encoding is compressed on first use; two threads may race to fill one, which only wastes work.
+    private static final class Snapshot {
+        private final long version;
+        private final byte[] json;
+        private volatile byte[] gzip;
+        private volatile byte[] deflate;
+
+        private Snapshot(long version, byte[] json) {
+            this.version = version;
+            this.json = json;
+        }
+
+        private byte[] gzip() {
+            byte[] result = gzip;
+            if (result == null) {
+                result = compress(json, true);
+                gzip = result;
+            }
+            return result;
+        }
+
+        private byte[] deflate() {
+            byte[] result = deflate;
+            if (result == null) {
+                result = compress(json, false);
+                deflate = result;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.upana.studentmanagement.service;
+
+import com.upana.studentmanagement.dto.StudentDTO;
+import com.upana.studentmanagement.dto.StudentQueryFilter;
+import com.upana.studentmanagement.dto.StudentQueryRequest;
+import com.upana.studentmanagement.dto.StudentQueryResultDTO;
+import com.upana.studentmanagement.exception.InvalidDataException;
+import com.upana.studentmanagement.exception.QueryTimeoutException;
+import com.upana.studentmanagement.model.Student;
+import com.upana.studentmanagement.repository.StudentRepository;
+import com.upana.studentmanagement.repository.StudentSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+@Service
+public class StudentQueryService {
+
+    static final int DEFAULT_LIMIT = 100;
+
+    private static final Map<String, Function<Student, String>> CAMPOS = new LinkedHashMap<>();
+
+    static {
+        CAMPOS.put("id", s -> String.valueOf(s.getId()));
+        CAMPOS.put("nombre", Student::getNombre);
+        CAMPOS.put("correo", Student::getCorreo);
+        CAMPOS.put("numero_telefono", Student::getNumeroTelefono);
+        CAMPOS.put("idioma", Student::getIdioma);
+        CAMPOS.put("dominio", s -> StudentStatistics.dominio(s.getCorreo()));
+    }
+
+    private final StudentRepository repository;
+    private final Duration timeout;
+    // Own pool so long scans neither starve nor are starved by imports running on the common pool.
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    @Autowired
+    public StudentQueryService(StudentRepository repository, @Value("${app.query.timeout:5s}") Duration timeout) {
+        this.repository = repository;
+        this.timeout = timeout;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public StudentQueryResultDTO query(StudentQueryRequest request) {
+        Deadline deadline = new Deadline(System.nanoTime() + timeout.toNanos());
+        Predicate<Student> filter = compile(request.getFiltros(), deadline);
+        Function<Student, String> groupBy = request.getAgruparPor() == null ? null : campo(request.getAgruparPor());
+        boolean fullScan = request.isSoloContar() || groupBy != null;
+        int limit = request.isSoloContar() ? 0 : (request.getLimite() == null ? DEFAULT_LIMIT : request.getLimite());
+
+        AtomicLong matches = new AtomicLong();
+        Map<String, LongAdder> groups = groupBy == null ? null : new ConcurrentHashMap<>();
+        ConcurrentLinkedQueue<StudentDTO> rows = new ConcurrentLinkedQueue<>();
+
+        try (StudentSnapshot snapshot = repository.openSnapshot()) {
+            long start = System.nanoTime();
+            snapshot.parallelForEach(pool, student -> {
+                if (!filter.test(student)) {
+                    return;
+                }
+                long match = matches.incrementAndGet();
+                if (match <= limit) {
+                    rows.add(convertToDTO(student));
+                }
+                if (groups != null) {
+                    String key = groupBy.apply(student);
+                    groups.computeIfAbsent(key == null ? "" : key, k -> new LongAdder()).increment();
+                }
+            }, () -> deadline.isExpired() || (!fullScan && matches.get() > limit));
+            double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+            if (deadline.isExpired()) {
+                throw new QueryTimeoutException("La consulta excedió el tiempo máximo de " + timeout.toMillis()
+                        + " ms; use filtros más selectivos o expresiones regulares más simples");
+            }
+
+            boolean truncado = matches.get() > limit && !request.isSoloContar();
+            List<StudentDTO> estudiantes = request.isSoloContar() ? null : new ArrayList<>(rows);
+            return new StudentQueryResultDTO(
+                    fullScan || !truncado ? matches.get() : null,
+                    groups == null ? null : sums(groups),
+                    estudiantes,
+                    truncado,
+                    snapshot.getVersion(),
+                    Math.round(elapsedMs * 1000) / 1000.0);
+        }
+    }
+
+    private Predicate<Student> compile(List<StudentQueryFilter> filtros, Deadline deadline) {
+        Predicate<Student> result = s -> true;
+        if (filtros == null) {
+            return result;
+        }
+        for (StudentQueryFilter filtro : filtros) {
+            result = result.and(compile(filtro, deadline));
+        }
+        return result;
+    }
+
+    private Predicate<Student> compile(StudentQueryFilter filtro, Deadline deadline) {
+        Function<Student, String> campo = campo(filtro.getCampo());
+        String valor = filtro.getValor();
+        switch (filtro.getOperador().toLowerCase(Locale.ROOT)) {
+            case "igual":
+                return s -> valor.equalsIgnoreCase(campo.apply(s));
+            case "prefijo":
+                return s -> {
+                    String value = campo.apply(s);
+                    return value != null && value.regionMatches(true, 0, valor, 0, valor.length());
+                };
+            case "contiene":
+                String lower = valor.toLowerCase(Locale.ROOT);
+                return s -> {
+                    String value = campo.apply(s);
+                    return value != null && value.toLowerCase(Locale.ROOT).contains(lower);
+                };
+            case "regex":
+                Pattern pattern = compilePattern(valor);
+                return s -> {
+                    String value = campo.apply(s);
+                    if (value == null) {
+                        return false;
+                    }
+                    try {
+                        return pattern.matcher(new DeadlineCharSequence(value, deadline)).find();
+                    } catch (DeadlineExceeded e) {
+                        return false;
+                    }
+                };
+            default:
+                throw new InvalidDataException("Operador desconocido: " + filtro.getOperador()
+                        + " (use igual, prefijo, contiene o regex)");
+        }
+    }
+
+    private static Function<Student, String> campo(String nombre) {
+        Function<Student, String> campo = CAMPOS.get(nombre);
+        if (campo == null) {
+            throw new InvalidDataException("Campo desconocido: " + nombre);
+        }
+        return campo;
+    }
+
+    private static Pattern compilePattern(String regex) {
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new InvalidDataException("Expresión regular inválida: " + e.getDescription());
+        }
+    }
+
+    private static Map<String, Long> sums(Map<String, LongAdder> groups) {
+        Map<String, Long> result = new TreeMap<>();
+        groups.forEach((key, adder) -> result.put(key, adder.sum()));
+        return result;
+    }
+
+    private static final class Deadline {
+        private final long deadlineNanos;
+        private volatile boolean expired;
+
+        private Deadline(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        private boolean isExpired() {
+            if (!expired && System.nanoTime() - deadlineNanos > 0) {
+                expired = true;
+            }
+            return expired;
+        }
+    }
+
+    // A single backtracking regex can run far past the deadline on one value, so the matcher's input polls it.
+    private static final class DeadlineCharSequence implements CharSequence {
+        private static final int CHECK_INTERVAL = 1024;
+
+        private final String value;
+        private final Deadline deadline;
+        private int reads;
+
+        private DeadlineCharSequence(String value, Deadline deadline) {
+            this.value = value;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (++reads % CHECK_INTERVAL == 0 && deadline.isExpired()) {
+                throw new DeadlineExceeded();
+            }
+            return value.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return value.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new DeadlineCharSequence(value.substring(start, end), deadline);
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    private static final class DeadlineExceeded extends RuntimeException {
+        private DeadlineExceeded() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static StudentDTO convertToDTO(Student student) {
+        return new StudentDTO(
+                student.getId(),
+                student.getNombre(),
+                student.getCorreo(),
+                student.getNumeroTelefono(),
+                student.getIdioma()
+        );
+    }
+}
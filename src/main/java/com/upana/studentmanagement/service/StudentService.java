@@ -1,24 +1,39 @@
 package com.upana.studentmanagement.service;
 
 import com.upana.studentmanagement.dto.StudentDTO;
+import com.upana.studentmanagement.dto.StudentField;
+import com.upana.studentmanagement.dto.StudentFieldsView;
+import com.upana.studentmanagement.dto.StudentLookupDTO;
+import com.upana.studentmanagement.dto.StudentStatsDTO;
 import com.upana.studentmanagement.exception.DuplicateResourceException;
+import com.upana.studentmanagement.exception.InvalidDataException;
 import com.upana.studentmanagement.exception.ResourceNotFoundException;
 import com.upana.studentmanagement.model.Student;
+import com.upana.studentmanagement.monitoring.PhaseTimer;
 import com.upana.studentmanagement.repository.StudentRepository;
+import com.upana.studentmanagement.repository.StudentSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class StudentService {
 
+    static final int MAX_LOOKUP_IDS = 1000;
+
     private final StudentRepository repository;
+    private final StudentStatistics statistics;
 
     @Autowired
-    public StudentService(StudentRepository repository) {
+    public StudentService(StudentRepository repository, StudentStatistics statistics) {
         this.repository = repository;
+        this.statistics = statistics;
     }
 
     public List<StudentDTO> getAllStudents() {
@@ -33,13 +48,67 @@ public class StudentService {
         return convertToDTO(student);
     }
 
+    public StudentLookupDTO getStudentsByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidDataException("Debe indicar al menos un ID");
+        }
+        if (ids.size() > MAX_LOOKUP_IDS) {
+            throw new InvalidDataException("No se pueden consultar más de " + MAX_LOOKUP_IDS + " IDs por petición");
+        }
+        if (ids.contains(null)) {
+            throw new InvalidDataException("Los IDs no pueden ser nulos");
+        }
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        Map<Long, Student> found = repository.findAllById(uniqueIds);
+        List<StudentDTO> estudiantes = new ArrayList<>(found.size());
+        List<Long> noEncontrados = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            Student student = found.get(id);
+            if (student != null) {
+                estudiantes.add(convertToDTO(student));
+            } else {
+                noEncontrados.add(id);
+            }
+        }
+        return new StudentLookupDTO(estudiantes, noEncontrados);
+    }
+
+    // Views wrap the snapshot's stored versions instead of copies. Those are never modified once committed,
+    // so the views stay valid for serialization after the snapshot is released.
+    public List<StudentFieldsView> getAllStudents(Set<StudentField> fields) {
+        try (StudentSnapshot snapshot = repository.openSnapshot()) {
+            return snapshot.stream()
+                    .map(student -> new StudentFieldsView(student, fields))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    public StudentFieldsView getStudentById(Long id, Set<StudentField> fields) {
+        Student student = repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Estudiante con ID " + id + " no encontrado"));
+        return new StudentFieldsView(student, fields);
+    }
+
     public StudentDTO createStudent(StudentDTO studentDTO) {
-        if (repository.existsByCorreo(studentDTO.getCorreo())) {
+        PhaseTimer duplicateCheck = PhaseTimer.start(PhaseTimer.DUPLICATE_CHECK);
+        boolean duplicado;
+        try {
+            duplicado = repository.existsByCorreo(studentDTO.getCorreo());
+        } finally {
+            duplicateCheck.stop();
+        }
+        if (duplicado) {
             throw new DuplicateResourceException("Ya existe un estudiante con el correo: " + studentDTO.getCorreo());
         }
 
         Student student = convertToEntity(studentDTO);
-        Student savedStudent = repository.save(student);
+        Student savedStudent;
+        PhaseTimer store = PhaseTimer.start(PhaseTimer.STORE);
+        try {
+            savedStudent = repository.saveIfCorreoAbsent(student);
+        } finally {
+            store.stop();
+        }
         return convertToDTO(savedStudent);
     }
 
@@ -47,7 +116,7 @@ public class StudentService {
         Student existingStudent = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Estudiante con ID " + id + " no encontrado"));
 
-        if (repository.existsByCorreoAndIdNot(studentDTO.getCorreo(), id)) {
+        if (isCorreoTakenByOther(studentDTO.getCorreo(), id)) {
             throw new DuplicateResourceException("Ya existe otro estudiante con el correo: " + studentDTO.getCorreo());
         }
 
@@ -56,7 +125,10 @@ public class StudentService {
         existingStudent.setNumeroTelefono(studentDTO.getNumeroTelefono());
         existingStudent.setIdioma(studentDTO.getIdioma());
 
-        Student updatedStudent = repository.update(existingStudent);
+        Student updatedStudent = storeUpdate(existingStudent);
+        if (updatedStudent == null) {
+            throw new ResourceNotFoundException("Estudiante con ID " + id + " no encontrado");
+        }
         return convertToDTO(updatedStudent);
     }
 
@@ -69,7 +141,7 @@ public class StudentService {
         }
 
         if (studentDTO.getCorreo() != null) {
-            if (repository.existsByCorreoAndIdNot(studentDTO.getCorreo(), id)) {
+            if (isCorreoTakenByOther(studentDTO.getCorreo(), id)) {
                 throw new DuplicateResourceException("Ya existe otro estudiante con el correo: " + studentDTO.getCorreo());
             }
             existingStudent.setCorreo(studentDTO.getCorreo());
@@ -83,7 +155,10 @@ public class StudentService {
             existingStudent.setIdioma(studentDTO.getIdioma());
         }
 
-        Student updatedStudent = repository.update(existingStudent);
+        Student updatedStudent = storeUpdate(existingStudent);
+        if (updatedStudent == null) {
+            throw new ResourceNotFoundException("Estudiante con ID " + id + " no encontrado");
+        }
         return convertToDTO(updatedStudent);
     }
 
@@ -93,6 +168,28 @@ public class StudentService {
         }
     }
 
+    public StudentStatsDTO getStatistics() {
+        return statistics.snapshot();
+    }
+
+    private boolean isCorreoTakenByOther(String correo, Long id) {
+        PhaseTimer timer = PhaseTimer.start(PhaseTimer.DUPLICATE_CHECK);
+        try {
+            return repository.existsByCorreoAndIdNot(correo, id);
+        } finally {
+            timer.stop();
+        }
+    }
+
+    private Student storeUpdate(Student student) {
+        PhaseTimer timer = PhaseTimer.start(PhaseTimer.STORE);
+        try {
+            return repository.updateIfCorreoFree(student);
+        } finally {
+            timer.stop();
+        }
+    }
+
     private StudentDTO convertToDTO(Student student) {
         return new StudentDTO(
                 student.getId(),
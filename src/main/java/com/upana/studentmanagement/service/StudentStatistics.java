@@ -0,0 +1,107 @@
+package com.upana.studentmanagement.service;
+
+import com.upana.studentmanagement.dto.StudentStatsDTO;
+import com.upana.studentmanagement.model.Student;
+import com.upana.studentmanagement.repository.StudentChangeListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+// Kept in step with the store by the repository, which calls onCommit under its write lock.
+// Writers bump a sequence number before and after each update (odd while one is in progress), so
+// snapshot() can retry until it reads all three counters between the same two commits.
+public class StudentStatistics implements StudentChangeListener {
+
+    private final LongAdder total = new LongAdder();
+    private final Map<String, LongAdder> porIdioma = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> porDominio = new ConcurrentHashMap<>();
+    private volatile long sequence;
+
+    @Override
+    public synchronized void onCommit(Student previous, Student current) {
+        if (previous == null && current == null) {
+            return;
+        }
+        sequence++;
+        try {
+            apply(previous, current);
+        } finally {
+            sequence++;
+        }
+    }
+
+    public StudentStatsDTO snapshot() {
+        while (true) {
+            long before = sequence;
+            if ((before & 1) == 0) {
+                StudentStatsDTO stats = new StudentStatsDTO(total.sum(), sums(porIdioma), sums(porDominio));
+                if (sequence == before) {
+                    return stats;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private void apply(Student previous, Student current) {
+        if (previous == null) {
+            total.increment();
+        } else if (current == null) {
+            total.decrement();
+        }
+
+        String idiomaAnterior = previous == null ? null : previous.getIdioma();
+        String idiomaNuevo = current == null ? null : current.getIdioma();
+        if (!equalsNullable(idiomaAnterior, idiomaNuevo)) {
+            decrement(porIdioma, idiomaAnterior);
+            increment(porIdioma, idiomaNuevo);
+        }
+
+        String dominioAnterior = previous == null ? null : dominio(previous.getCorreo());
+        String dominioNuevo = current == null ? null : dominio(current.getCorreo());
+        if (!equalsNullable(dominioAnterior, dominioNuevo)) {
+            decrement(porDominio, dominioAnterior);
+            increment(porDominio, dominioNuevo);
+        }
+    }
+
+    static String dominio(String correo) {
+        if (correo == null) {
+            return null;
+        }
+        int arroba = correo.lastIndexOf('@');
+        return arroba < 0 ? "" : correo.substring(arroba + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static void increment(Map<String, LongAdder> counters, String key) {
+        if (key != null) {
+            counters.computeIfAbsent(key, k -> new LongAdder()).increment();
+        }
+    }
+
+    private static void decrement(Map<String, LongAdder> counters, String key) {
+        if (key != null) {
+            counters.computeIfAbsent(key, k -> new LongAdder()).decrement();
+        }
+    }
+
+    private static Map<String, Long> sums(Map<String, LongAdder> counters) {
+        Map<String, Long> result = new TreeMap<>();
+        counters.forEach((key, adder) -> {
+            long value = adder.sum();
+            if (value != 0) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
+    private static boolean equalsNullable(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -0,0 +1,59 @@
+package com.upana.studentmanagement.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.upana.studentmanagement.dto.StudentDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Wall-clock comparison of JSON, Smile and CBOR round trips. Timing depends on the host, so it is
+// not part of the unit suite: run it with ./mvnw -Pbenchmark test and read the report.
+class BinaryFormatsBenchmark {
+
+    private static final int STUDENTS = 10_000;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 40;
+
+    @Test
+    @DisplayName("Costo de CPU de serializar y leer listas grandes en JSON, Smile y CBOR")
+    void binaryFormatsCpuCost() throws Exception {
+        List<StudentDTO> students = new ArrayList<>();
+        for (long i = 1; i <= STUDENTS; i++) {
+            students.add(new StudentDTO(i, "Estudiante " + i, "estudiante" + i + "@example.com", "1234567890", "español"));
+        }
+        // Built the same way WebConfig builds the converters' mappers.
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("JSON", Jackson2ObjectMapperBuilder.json().build());
+        mappers.put("Smile", Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+        mappers.put("CBOR", Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build());
+
+        // Rounds are interleaved so host noise hits every format alike; the best measured round is kept.
+        Map<String, Long> best = new LinkedHashMap<>();
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+                long nanos = roundTripNanos(entry.getValue(), students);
+                if (round >= WARMUP_ROUNDS) {
+                    best.merge(entry.getKey(), nanos, Math::min);
+                }
+            }
+        }
+
+        StringBuilder report = new StringBuilder("Ida y vuelta de " + STUDENTS + " estudiantes:");
+        best.forEach((format, nanos) -> report.append(String.format(" %s %d us,", format, nanos / 1000)));
+        System.out.println(report.substring(0, report.length() - 1));
+    }
+
+    private static long roundTripNanos(ObjectMapper mapper, List<StudentDTO> students) throws Exception {
+        long start = System.nanoTime();
+        mapper.readValue(mapper.writeValueAsBytes(students), new TypeReference<List<StudentDTO>>() { });
+        return System.nanoTime() - start;
+    }
+}
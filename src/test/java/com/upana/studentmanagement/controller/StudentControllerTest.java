@@ -1,9 +1,28 @@
 package com.upana.studentmanagement.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.upana.studentmanagement.dto.StudentDTO;
+import com.upana.studentmanagement.dto.StudentField;
+import com.upana.studentmanagement.dto.StudentFieldsView;
+import com.upana.studentmanagement.dto.StudentImportEventDTO;
+import com.upana.studentmanagement.dto.StudentLookupDTO;
+import com.upana.studentmanagement.dto.StudentLookupRequest;
+import com.upana.studentmanagement.dto.StudentQueryRequest;
+import com.upana.studentmanagement.dto.StudentQueryResultDTO;
+import com.upana.studentmanagement.dto.StudentStatsDTO;
 import com.upana.studentmanagement.exception.DuplicateResourceException;
+import com.upana.studentmanagement.exception.InvalidDataException;
+import com.upana.studentmanagement.exception.QueryTimeoutException;
 import com.upana.studentmanagement.exception.ResourceNotFoundException;
+import com.upana.studentmanagement.model.Student;
+import com.upana.studentmanagement.repository.StudentSnapshot;
+import com.upana.studentmanagement.service.StudentExportService;
+import com.upana.studentmanagement.service.StudentImportService;
+import com.upana.studentmanagement.service.StudentListCache;
+import com.upana.studentmanagement.service.StudentQueryService;
 import com.upana.studentmanagement.service.StudentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,18 +30,35 @@ import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(StudentController.class)
+@WebMvcTest(value = StudentController.class, properties = "app.server-timing.enabled=true")
 class StudentControllerTest {
 
     @Autowired
@@ -31,9 +67,24 @@ class StudentControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
     @MockBean
     private StudentService service;
 
+    @MockBean
+    private StudentImportService importService;
+
+    @MockBean
+    private StudentListCache listCache;
+
+    @MockBean
+    private StudentExportService exportService;
+
+    @MockBean
+    private StudentQueryService queryService;
+
     private StudentDTO testStudentDTO;
 
     @BeforeEach
@@ -235,4 +286,450 @@ class StudentControllerTest {
 
         verify(service, never()).createStudent(any(StudentDTO.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /api/students/stats - Debe retornar las estadísticas")
+    void testGetStatistics() throws Exception {
+        StudentStatsDTO stats = new StudentStatsDTO(3L,
+                Map.of("español", 2L, "inglés", 1L),
+                Map.of("example.com", 3L));
+        when(service.getStatistics()).thenReturn(stats);
+
+        mockMvc.perform(get("/api/students/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.por_idioma.español").value(2))
+                .andExpect(jsonPath("$.por_dominio['example.com']").value(3));
+
+        verify(service, times(1)).getStatistics();
+        verify(service, never()).getAllStudents();
+    }
+
+    @Test
+    @DisplayName("POST /api/students/import - Debe transmitir el progreso de la importación")
+    void testImportStudents() throws Exception {
+        when(importService.importStudents(any(InputStream.class), eq(StudentImportService.Format.CSV), any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    OutputStream output = invocation.getArgument(2);
+                    output.write("{\"tipo\":\"resumen\",\"procesadas\":1,\"importadas\":1,\"errores\":0}\n"
+                            .getBytes(StandardCharsets.UTF_8));
+                    return StudentImportEventDTO.resumen(1, 1, 0);
+                });
+
+        MvcResult result = mockMvc.perform(post("/api/students/import")
+                        .contentType("text/csv")
+                        .content("Ana,ana@example.com,1234567890,español\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(jsonPath("$.importadas").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/students - Debe negociar Smile con Accept")
+    void testGetAllStudentsSmile() throws Exception {
+        when(service.getAllStudents()).thenReturn(Arrays.asList(testStudentDTO));
+
+        byte[] body = mockMvc.perform(get("/api/students").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<StudentDTO> students = new SmileMapper().readValue(body, new TypeReference<List<StudentDTO>>() { });
+        assertEquals(testStudentDTO, students.get(0));
+    }
+
+    @Test
+    @DisplayName("POST /api/students - Debe aceptar cuerpos CBOR")
+    void testCreateStudentCbor() throws Exception {
+        StudentDTO newStudent = new StudentDTO(null, "María García", "maria@example.com", "9876543210", "inglés");
+        StudentDTO createdStudent = new StudentDTO(1L, "María García", "maria@example.com", "9876543210", "inglés");
+        when(service.createStudent(any(StudentDTO.class))).thenReturn(createdStudent);
+        CBORMapper cborMapper = new CBORMapper();
+
+        byte[] body = mockMvc.perform(post("/api/students")
+                        .contentType("application/cbor")
+                        .accept("application/cbor")
+                        .content(cborMapper.writeValueAsBytes(newStudent)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(createdStudent, cborMapper.readValue(body, StudentDTO.class));
+        verify(service, times(1)).createStudent(eq(newStudent));
+    }
+
+    @Test
+    @DisplayName("GET /api/students - Smile y CBOR deben ser más compactos que JSON en listas grandes")
+    void testBinaryFormatsPayloadSize() throws Exception {
+        List<StudentDTO> students = new ArrayList<>();
+        for (long i = 1; i <= 1000; i++) {
+            students.add(new StudentDTO(i, "Estudiante " + i, "estudiante" + i + "@example.com", "1234567890", "español"));
+        }
+        when(service.getAllStudents()).thenReturn(students);
+
+        int json = responseSize(MediaType.APPLICATION_JSON_VALUE);
+        int smile = responseSize("application/x-jackson-smile");
+        int cbor = responseSize("application/cbor");
+
+        assertTrue(smile < json, "Smile: " + smile + " bytes, JSON: " + json + " bytes");
+        assertTrue(cbor < json, "CBOR: " + cbor + " bytes, JSON: " + json + " bytes");
+    }
+
+    @Test
+    @DisplayName("Los conversores Smile y CBOR deben ser únicos y compartir la configuración de JSON")
+    void testBinaryConvertersReplaceDefaults() {
+        List<HttpMessageConverter<?>> converters = handlerAdapter.getMessageConverters();
+        ObjectMapper json = converterMapper(converters, MappingJackson2HttpMessageConverter.class);
+        ObjectMapper smile = converterMapper(converters, MappingJackson2SmileHttpMessageConverter.class);
+        ObjectMapper cbor = converterMapper(converters, MappingJackson2CborHttpMessageConverter.class);
+
+        assertEquals(1, converters.stream().filter(MappingJackson2SmileHttpMessageConverter.class::isInstance).count());
+        assertEquals(1, converters.stream().filter(MappingJackson2CborHttpMessageConverter.class::isInstance).count());
+        assertEquals(json.getRegisteredModuleIds(), smile.getRegisteredModuleIds());
+        assertEquals(json.getRegisteredModuleIds(), cbor.getRegisteredModuleIds());
+    }
+
+    // First match, i.e. the converter content negotiation would pick for that media type.
+    private static ObjectMapper converterMapper(List<HttpMessageConverter<?>> converters, Class<?> type) {
+        return converters.stream()
+                .filter(type::isInstance)
+                .map(converter -> ((AbstractJackson2HttpMessageConverter) converter).getObjectMapper())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private int responseSize(String mediaType) throws Exception {
+        return mockMvc.perform(get("/api/students").accept(mediaType))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray().length;
+    }
+
+    @Test
+    @DisplayName("GET /api/students - Debe servir la lista comprimida desde la caché")
+    void testGetAllStudentsGzip() throws Exception {
+        byte[] compressed = {31, -117, 8, 0};
+        when(listCache.getList("gzip")).thenReturn(new StudentListCache.CachedList(compressed, "gzip"));
+
+        mockMvc.perform(get("/api/students").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(compressed));
+
+        verify(service, never()).getAllStudents();
+    }
+
+    @Test
+    @DisplayName("GET /api/students - No debe declarar Content-Encoding si la lista no se comprimió")
+    void testGetAllStudentsBelowCompressionThreshold() throws Exception {
+        byte[] json = "[]".getBytes(StandardCharsets.UTF_8);
+        when(listCache.getList("gzip")).thenReturn(new StudentListCache.CachedList(json, null));
+
+        mockMvc.perform(get("/api/students").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(json));
+    }
+
+    @Test
+    @DisplayName("GET /api/students - No debe usar la caché con codificaciones no soportadas")
+    void testGetAllStudentsUnsupportedEncoding() throws Exception {
+        when(service.getAllStudents()).thenReturn(Arrays.asList(testStudentDTO));
+
+        mockMvc.perform(get("/api/students").header(HttpHeaders.ACCEPT_ENCODING, "br"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(jsonPath("$[0].nombre").value("Juan Pérez"));
+
+        verify(listCache, never()).getList(anyString());
+    }
+
+    @Test
+    @DisplayName("GET /api/students - Debe respetar Smile preferido aunque se acepte gzip")
+    void testGetAllStudentsSmilePreferredWithGzip() throws Exception {
+        when(service.getAllStudents()).thenReturn(Arrays.asList(testStudentDTO));
+
+        byte[] body = mockMvc.perform(get("/api/students")
+                        .header(HttpHeaders.ACCEPT, "application/x-jackson-smile, application/json;q=0.1")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<StudentDTO> students = new SmileMapper().readValue(body, new TypeReference<List<StudentDTO>>() { });
+        assertEquals(testStudentDTO, students.get(0));
+        verify(listCache, never()).getList(anyString());
+    }
+
+    @Test
+    @DisplayName("GET /api/students - Debe usar la caché cuando JSON gana la negociación")
+    void testGetAllStudentsJsonPreferredWithGzip() throws Exception {
+        byte[] compressed = {31, -117, 8, 0};
+        when(listCache.getList("gzip")).thenReturn(new StudentListCache.CachedList(compressed, "gzip"));
+
+        mockMvc.perform(get("/api/students")
+                        .header(HttpHeaders.ACCEPT, "application/cbor;q=0.5, */*")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(compressed));
+    }
+
+    @Test
+    @DisplayName("GET /api/students?fields= - Debe proyectar solo los campos solicitados")
+    void testGetAllStudentsFields() throws Exception {
+        Student student = new Student(1L, "Juan Pérez", "juan@example.com", "1234567890", "español");
+        EnumSet<StudentField> fields = EnumSet.of(StudentField.ID, StudentField.NOMBRE);
+        when(service.getAllStudents(fields)).thenReturn(Arrays.asList(new StudentFieldsView(student, fields)));
+
+        mockMvc.perform(get("/api/students").param("fields", "nombre,id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].nombre").value("Juan Pérez"))
+                .andExpect(jsonPath("$[0].correo").doesNotExist())
+                .andExpect(jsonPath("$[0].numero_telefono").doesNotExist());
+
+        verify(service, never()).getAllStudents();
+    }
+
+    @Test
+    @DisplayName("GET /api/students/{id}?fields= - Debe proyectar un estudiante")
+    void testGetStudentByIdFields() throws Exception {
+        Student student = new Student(1L, "Juan Pérez", "juan@example.com", "1234567890", "español");
+        EnumSet<StudentField> fields = EnumSet.of(StudentField.NUMERO_TELEFONO, StudentField.IDIOMA);
+        when(service.getStudentById(1L, fields)).thenReturn(new StudentFieldsView(student, fields));
+
+        mockMvc.perform(get("/api/students/1").param("fields", "numero_telefono,idioma"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.numero_telefono").value("1234567890"))
+                .andExpect(jsonPath("$.idioma").value("español"))
+                .andExpect(jsonPath("$.id").doesNotExist());
+
+        verify(service, never()).getStudentById(1L);
+    }
+
+    @Test
+    @DisplayName("GET /api/students/{id} - Debe retornar un ErrorResponse compacto")
+    void testNotFoundErrorBody() throws Exception {
+        when(service.getStudentById(999L)).thenThrow(new ResourceNotFoundException("Estudiante con ID 999 no encontrado"));
+
+        mockMvc.perform(get("/api/students/999"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.mensaje").value("Estudiante con ID 999 no encontrado"))
+                .andExpect(jsonPath("$.timestamp").exists())
+                .andExpect(jsonPath("$.trace").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("POST /api/students - Debe reportar los campos inválidos")
+    void testValidationErrorBody() throws Exception {
+        StudentDTO invalidStudent = new StudentDTO(null, "", "maria@example.com", "9876543210", "inglés");
+
+        mockMvc.perform(post("/api/students")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(invalidStudent)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.errores.nombre").value("El nombre es obligatorio"));
+    }
+
+    @Test
+    @DisplayName("POST /api/students - Debe reportar los campos con su nombre JSON")
+    void testValidationErrorUsesJsonNames() throws Exception {
+        StudentDTO invalidStudent = new StudentDTO(null, "María García", "maria@example.com", "123", "inglés");
+
+        mockMvc.perform(post("/api/students")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(invalidStudent)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errores.numero_telefono").exists())
+                .andExpect(jsonPath("$.errores.numeroTelefono").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/students/{id} - Debe retornar 400 si el ID no es numérico")
+    void testGetStudentByIdTypeMismatch() throws Exception {
+        mockMvc.perform(get("/api/students/abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.mensaje").value("Valor inválido para 'id': abc"));
+    }
+
+    @Test
+    @DisplayName("GET /api/students?ids= - Debe retornar 400 con IDs no numéricos")
+    void testGetStudentsByIdsTypeMismatch() throws Exception {
+        mockMvc.perform(get("/api/students").param("ids", "x"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensaje").value(containsString("'ids'")));
+    }
+
+    @Test
+    @DisplayName("PUT /api/students - Debe retornar 405 con ErrorResponse")
+    void testMethodNotAllowed() throws Exception {
+        mockMvc.perform(put("/api/students").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isMethodNotAllowed())
+                .andExpect(header().exists(HttpHeaders.ALLOW))
+                .andExpect(jsonPath("$.status").value(405));
+    }
+
+    @Test
+    @DisplayName("GET /api/students?fields= - Debe retornar 400 con campos desconocidos")
+    void testGetAllStudentsUnknownField() throws Exception {
+        mockMvc.perform(get("/api/students").param("fields", "id,edad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensaje").value("Campo desconocido: edad"));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/students/{id} - Debe exponer el desglose en Server-Timing")
+    void testPatchStudentServerTiming() throws Exception {
+        StudentDTO patchDTO = new StudentDTO(null, "Nombre Actualizado", null, null, null);
+        when(service.patchStudent(eq(1L), any(StudentDTO.class))).thenReturn(testStudentDTO);
+
+        mockMvc.perform(patch("/api/students/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patchDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", containsString("deserialization;dur=")));
+    }
+
+    @Test
+    @DisplayName("POST /api/students - Debe medir la validación en Server-Timing")
+    void testCreateStudentServerTiming() throws Exception {
+        StudentDTO invalidStudent = new StudentDTO(null, "", "maria@example.com", "9876543210", "inglés");
+
+        mockMvc.perform(post("/api/students")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(invalidStudent)))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().string("Server-Timing", containsString("validation;dur=")));
+    }
+
+    @Test
+    @DisplayName("GET /api/students/export - Debe exportar desde una instantánea y liberarla")
+    void testExportStudents() throws Exception {
+        StudentSnapshot snapshot = mock(StudentSnapshot.class);
+        when(snapshot.getVersion()).thenReturn(7L);
+        when(exportService.openSnapshot()).thenReturn(snapshot);
+        when(exportService.exportStudents(eq(snapshot), any(OutputStream.class))).thenReturn(0L);
+
+        MvcResult result = mockMvc.perform(get("/api/students/export"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("X-Snapshot-Version", "7"))
+                .andReturn();
+        assertEquals(600_000L, result.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        verify(exportService, times(1)).exportStudents(eq(snapshot), any(OutputStream.class));
+        verify(snapshot, atLeastOnce()).close();
+    }
+
+    @Test
+    @DisplayName("GET /api/students?ids= - Debe resolver varios IDs en una llamada")
+    void testGetStudentsByIds() throws Exception {
+        StudentLookupDTO lookup = new StudentLookupDTO(Arrays.asList(testStudentDTO), Arrays.asList(999L));
+        when(service.getStudentsByIds(Arrays.asList(1L, 999L))).thenReturn(lookup);
+
+        mockMvc.perform(get("/api/students").param("ids", "1,999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.estudiantes[0].id").value(1))
+                .andExpect(jsonPath("$.no_encontrados[0]").value(999));
+
+        verify(service, never()).getAllStudents();
+        verify(service, never()).getStudentById(anyLong());
+    }
+
+    @Test
+    @DisplayName("POST /api/students/lookup - Debe resolver los IDs del cuerpo")
+    void testLookupStudents() throws Exception {
+        StudentLookupDTO lookup = new StudentLookupDTO(Arrays.asList(testStudentDTO), Arrays.asList());
+        when(service.getStudentsByIds(Arrays.asList(1L))).thenReturn(lookup);
+
+        mockMvc.perform(post("/api/students/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StudentLookupRequest(Arrays.asList(1L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.estudiantes.length()").value(1))
+                .andExpect(jsonPath("$.no_encontrados.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("GET ?ids= y POST /lookup deben validar igual las listas vacías o con nulos")
+    void testLookupStudentsInvalidIds() throws Exception {
+        when(service.getStudentsByIds(argThat(ids -> ids == null || ids.isEmpty() || ids.contains(null))))
+                .thenThrow(new InvalidDataException("IDs inválidos"));
+
+        mockMvc.perform(post("/api/students/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/students").param("ids", ""))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/students").param("ids", "1,,2"))
+                .andExpect(status().isBadRequest());
+
+        verify(service).getStudentsByIds(Arrays.asList(1L, null, 2L));
+    }
+
+    @Test
+    @DisplayName("POST /api/students/query - Debe retornar 400 con filtros nulos")
+    void testQueryStudentsNullFilter() throws Exception {
+        mockMvc.perform(post("/api/students/query")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filtros\":[null]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errores['filtros[0]']").value("Los filtros no pueden ser nulos"));
+
+        verify(queryService, never()).query(any(StudentQueryRequest.class));
+    }
+
+    @Test
+    @DisplayName("POST /api/students/query - Debe ejecutar una consulta ad-hoc")
+    void testQueryStudents() throws Exception {
+        StudentQueryResultDTO queryResult = new StudentQueryResultDTO(2L, Map.of("español", 2L), null, false, 4L, 0.5);
+        when(queryService.query(any(StudentQueryRequest.class))).thenReturn(queryResult);
+
+        mockMvc.perform(post("/api/students/query")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filtros\":[{\"campo\":\"numero_telefono\",\"operador\":\"prefijo\",\"valor\":\"502\"}],"
+                                + "\"agrupar_por\":\"idioma\",\"solo_contar\":true}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.coincidencias").value(2))
+                .andExpect(jsonPath("$.grupos.español").value(2))
+                .andExpect(jsonPath("$.tiempo_escaneo_ms").value(0.5))
+                .andExpect(jsonPath("$.estudiantes").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("POST /api/students/query - Debe retornar 400 con filtros incompletos")
+    void testQueryStudentsInvalidFilter() throws Exception {
+        mockMvc.perform(post("/api/students/query")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filtros\":[{\"campo\":\"nombre\"}],\"limite\":0}"))
+                .andExpect(status().isBadRequest());
+
+        verify(queryService, never()).query(any(StudentQueryRequest.class));
+    }
+
+    @Test
+    @DisplayName("POST /api/students/query - Debe retornar 503 si la consulta excede el tiempo máximo")
+    void testQueryStudentsTimeout() throws Exception {
+        when(queryService.query(any(StudentQueryRequest.class)))
+                .thenThrow(new QueryTimeoutException("La consulta excedió el tiempo máximo de 5000 ms"));
+
+        mockMvc.perform(post("/api/students/query")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filtros\":[{\"campo\":\"nombre\",\"operador\":\"regex\",\"valor\":\"^(a+)+$\"}]}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.mensaje").value("La consulta excedió el tiempo máximo de 5000 ms"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.upana.studentmanagement.monitoring;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhaseTimerTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTiming.end();
+    }
+
+    @Test
+    @DisplayName("Debe acumular las fases en el encabezado Server-Timing")
+    void testServerTimingHeader() {
+        RequestTiming timing = RequestTiming.begin(true);
+
+        PhaseTimer.start(PhaseTimer.DUPLICATE_CHECK).stop();
+        PhaseTimer.start(PhaseTimer.STORE).stop();
+
+        String header = timing.getServerTimingHeader();
+        assertTrue(header.matches("duplicate-check;dur=\\d+\\.\\d{3}, store;dur=\\d+\\.\\d{3}"), header);
+    }
+
+    @Test
+    @DisplayName("No debe generar encabezado cuando Server-Timing está deshabilitado")
+    void testServerTimingDisabled() {
+        RequestTiming timing = RequestTiming.begin(false);
+        PhaseTimer.start(PhaseTimer.STORE).stop();
+        assertNull(timing.getServerTimingHeader());
+    }
+
+    @Test
+    @DisplayName("Debe usar un temporizador compartido sin JFR ni Server-Timing")
+    void testNoopOutsideRequest() {
+        PhaseTimer timer = PhaseTimer.start(PhaseTimer.STORE);
+        assertSame(timer, PhaseTimer.start(PhaseTimer.VALIDATION));
+        timer.stop();
+    }
+
+    @Test
+    @DisplayName("No debe preparar estado por petición sin JFR ni Server-Timing")
+    void testInterceptorSkipsDisabledRequests() {
+        RequestTimingInterceptor interceptor = new RequestTimingInterceptor(false);
+        interceptor.preHandle(null, null, null);
+        assertNull(RequestTiming.current());
+    }
+
+    @Test
+    @DisplayName("Debe cerrar la fase de serialización en postHandle")
+    void testSerializationStopsInPostHandle() {
+        RequestTimingInterceptor interceptor = new RequestTimingInterceptor(true);
+        interceptor.preHandle(null, null, null);
+        RequestTiming timing = RequestTiming.current();
+        timing.startPending(PhaseTimer.SERIALIZATION);
+
+        interceptor.postHandle(null, null, null, null);
+
+        String header = timing.getServerTimingHeader();
+        assertTrue(header.matches("serialization;dur=\\d+\\.\\d{3}"), header);
+    }
+
+    @Test
+    @DisplayName("Debe emitir eventos JFR cuando el evento está habilitado")
+    void testJfrEvents() throws IOException {
+        Path file = Files.createTempFile("phases", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.upana.studentmanagement.RequestPhase");
+            recording.start();
+            PhaseTimer.start(PhaseTimer.STORE).stop();
+            recording.stop();
+            recording.dump(file);
+
+            List<String> phases = RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals("com.upana.studentmanagement.RequestPhase"))
+                    .map((RecordedEvent e) -> e.getString("phase"))
+                    .collect(Collectors.toList());
+            assertEquals(List.of(PhaseTimer.STORE), phases);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package com.upana.studentmanagement.repository;
 
+import com.upana.studentmanagement.exception.DuplicateResourceException;
 import com.upana.studentmanagement.model.Student;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -114,6 +122,61 @@ class StudentRepositoryTest {
         assertTrue(repository.existsByCorreoAndIdNot("elena@gmail.com", s1.getId()));
     }
 
+    @Test
+    @DisplayName("Debe mantener el índice de correos al actualizar y eliminar")
+    void testCorreoIndexFollowsWrites() {
+        Student s1 = repository.save(new Student("Diego", "Diego@gmail.com", "99999999", "español"));
+        s1.setCorreo("diego@upana.edu");
+        repository.update(s1);
+        assertFalse(repository.existsByCorreo("diego@gmail.com"));
+        assertTrue(repository.existsByCorreo("DIEGO@upana.edu"));
+
+        repository.deleteById(s1.getId());
+        assertFalse(repository.existsByCorreo("diego@upana.edu"));
+
+        repository.save(new Student("Elena", "elena@gmail.com", "10101010", "inglés"));
+        repository.deleteAll();
+        assertFalse(repository.existsByCorreo("elena@gmail.com"));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar correos duplicados de forma atómica con escrituras concurrentes")
+    void testSaveIfCorreoAbsentIsAtomic() throws InterruptedException {
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger saved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Thread[] writers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            String nombre = "Ana " + i;
+            writers[i] = new Thread(() -> {
+                try {
+                    start.await();
+                    repository.saveIfCorreoAbsent(new Student(nombre, "ana@example.com", "1234567890", "español"));
+                    saved.incrementAndGet();
+                } catch (DuplicateResourceException e) {
+                    rejected.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            writers[i].start();
+        }
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertEquals(1, saved.get());
+        assertEquals(threads - 1, rejected.get());
+        assertEquals(1, repository.findAll().size());
+
+        Student luis = repository.save(new Student("Luis", "luis@example.com", "1234567890", "inglés"));
+        luis.setCorreo("ANA@example.com");
+        assertThrows(DuplicateResourceException.class, () -> repository.updateIfCorreoFree(luis));
+        assertEquals("luis@example.com", repository.findById(luis.getId()).get().getCorreo());
+    }
+
     @Test
     @DisplayName("Debe generar IDs incrementales")
     void testIdGeneration() {
@@ -145,4 +208,167 @@ class StudentRepositoryTest {
         repository.save(new Student("Maríana", "maria@gmail.com", "22222222", "inglés"));
         assertEquals(2, repository.findAll().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Debe incrementar la versión en cada modificación")
+    void testVersionChangesOnWrite() {
+        long initial = repository.getVersion();
+        Student saved = repository.save(new Student("Ana", "ana@example.com", "1234567890", "español"));
+        repository.update(saved);
+        repository.deleteById(999L);
+        assertEquals(initial + 2, repository.getVersion());
+        repository.deleteById(saved.getId());
+        assertEquals(initial + 3, repository.getVersion());
+    }
+
+    @Test
+    @DisplayName("Debe devolver copias que no modifican el almacén")
+    void testFindByIdReturnsCopy() {
+        Student saved = repository.save(new Student("Ana", "ana@example.com", "1234567890", "español"));
+        repository.findById(saved.getId()).get().setNombre("Modificada");
+        assertEquals("Ana", repository.findById(saved.getId()).get().getNombre());
+    }
+
+    @Test
+    @DisplayName("Una instantánea debe ver un estado consistente mientras hay escrituras")
+    void testSnapshotIsolation() {
+        Student ana = repository.save(new Student("Ana", "ana@example.com", "1234567890", "español"));
+        Student luis = repository.save(new Student("Luis", "luis@example.com", "1234567890", "inglés"));
+
+        try (StudentSnapshot snapshot = repository.openSnapshot()) {
+            ana.setNombre("Ana Actualizada");
+            repository.update(ana);
+            repository.deleteById(luis.getId());
+            repository.save(new Student("Eva", "eva@example.com", "1234567890", "francés"));
+
+            assertEquals("Ana", snapshot.findById(ana.getId()).get().getNombre());
+            assertTrue(snapshot.findById(luis.getId()).isPresent());
+            assertEquals(2, snapshot.findAll().size());
+
+            assertEquals("Ana Actualizada", repository.findById(ana.getId()).get().getNombre());
+            assertFalse(repository.findById(luis.getId()).isPresent());
+            assertEquals(2, repository.findAll().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe liberar versiones antiguas cuando ninguna instantánea las usa")
+    void testGarbageCollection() {
+        Student ana = repository.save(new Student("Ana", "ana@example.com", "1234567890", "español"));
+        Student luis = repository.save(new Student("Luis", "luis@example.com", "1234567890", "inglés"));
+
+        StudentSnapshot snapshot = repository.openSnapshot();
+        for (int i = 0; i < 5; i++) {
+            ana.setNombre("Ana " + i);
+            repository.update(ana);
+        }
+        repository.deleteById(luis.getId());
+        assertEquals(8, repository.countVersions());
+        assertEquals(1, repository.countActiveSnapshots());
+
+        snapshot.close();
+        snapshot.close();
+        assertEquals(0, repository.countActiveSnapshots());
+
+        ana.setNombre("Ana final");
+        repository.update(ana);
+        assertEquals(1, repository.countVersions());
+    }
+
+    @Test
+    @DisplayName("Una instantánea liberada a mitad de lectura debe fallar en vez de devolver datos parciales")
+    void testClosedSnapshotRejectsReads() {
+        repository.save(new Student("Ana", "ana@example.com", "1234567890", "español"));
+        repository.save(new Student("Luis", "luis@example.com", "1234567890", "inglés"));
+
+        StudentSnapshot snapshot = repository.openSnapshot();
+        Iterator<Student> students = snapshot.stream().iterator();
+        students.next();
+        snapshot.close();
+
+        assertThrows(IllegalStateException.class, students::next);
+        assertThrows(IllegalStateException.class, () -> snapshot.findById(1L));
+    }
+
+    @Test
+    @DisplayName("Las instantáneas deben ser consistentes con escritores concurrentes")
+    void testSnapshotsWithConcurrentWriters() throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            repository.save(new Student("Estudiante", "e" + i + "@example.com", "1234567890", "español"));
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            int round = 0;
+            while (running.get()) {
+                String nombre = "Ronda " + round++;
+                for (long id = 1; id <= 50; id++) {
+                    repository.update(new Student(id, nombre, "e" + (id - 1) + "@example.com", "1234567890", "español"));
+                }
+            }
+        });
+        writer.start();
+        try {
+            for (int i = 0; i < 200; i++) {
+                try (StudentSnapshot snapshot = repository.openSnapshot()) {
+                    List<Student> first = snapshot.findAll();
+                    List<Student> second = snapshot.findAll();
+                    assertEquals(50, first.size());
+                    assertEquals(first, second);
+                }
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+    }
+
+    @Test
+    @DisplayName("Abrir y cerrar instantáneas no debe hacer fallar a un escritor concurrente")
+    void testSnapshotChurnWithConcurrentWriter() throws InterruptedException {
+        Student ana = repository.save(new Student("Ana", "ana@example.com", "1234567890", "español"));
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] readers = new Thread[4];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread(() -> {
+                while (running.get()) {
+                    repository.openSnapshot().close();
+                }
+            });
+            readers[i].start();
+        }
+        try {
+            for (int i = 0; i < 200_000 && failure.get() == null; i++) {
+                try {
+                    ana.setNombre("Ana " + i);
+                    repository.update(ana);
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            }
+        } finally {
+            running.set(false);
+            for (Thread reader : readers) {
+                reader.join();
+            }
+        }
+
+        assertNull(failure.get(), () -> "El escritor falló: " + failure.get());
+        assertEquals(0, repository.countActiveSnapshots());
+        repository.update(ana);
+        assertEquals(1, repository.countVersions());
+    }
+
+    @Test
+    @DisplayName("Debe buscar varios IDs en una pasada")
+    void testFindAllById() {
+        Student ana = repository.save(new Student("Ana", "ana@example.com", "1234567890", "español"));
+        Student luis = repository.save(new Student("Luis", "luis@example.com", "1234567890", "inglés"));
+
+        Map<Long, Student> found = repository.findAllById(Arrays.asList(luis.getId(), 999L, ana.getId()));
+
+        assertEquals(2, found.size());
+        assertEquals("Luis", found.get(luis.getId()).getNombre());
+        assertFalse(found.containsKey(999L));
+    }
+}
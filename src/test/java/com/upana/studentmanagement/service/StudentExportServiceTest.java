@@ -0,0 +1,56 @@
+package com.upana.studentmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upana.studentmanagement.dto.StudentDTO;
+import com.upana.studentmanagement.model.Student;
+import com.upana.studentmanagement.repository.StudentRepository;
+import com.upana.studentmanagement.repository.StudentSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentExportServiceTest {
+
+    private StudentRepository repository;
+    private StudentExportService exportService;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        repository = new StudentRepository();
+        objectMapper = new ObjectMapper();
+        exportService = new StudentExportService(repository, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Debe exportar el estado de la instantánea aunque haya escrituras posteriores")
+    void testExportUsesSnapshot() throws IOException {
+        Student ana = repository.save(new Student("Ana", "ana@example.com", "1234567890", "español"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (StudentSnapshot snapshot = exportService.openSnapshot()) {
+            ana.setNombre("Ana Actualizada");
+            repository.update(ana);
+            repository.save(new Student("Luis", "luis@example.com", "1234567890", "inglés"));
+
+            assertEquals(1, exportService.exportStudents(snapshot, output));
+        }
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].startsWith("{"));
+
+        List<StudentDTO> exported = objectMapper.readerFor(StudentDTO.class)
+                .<StudentDTO>readValues(output.toByteArray())
+                .readAll();
+        assertEquals(1, exported.size());
+        assertEquals("Ana", exported.get(0).getNombre());
+    }
+}
@@ -0,0 +1,139 @@
+package com.upana.studentmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upana.studentmanagement.dto.StudentDTO;
+import com.upana.studentmanagement.dto.StudentImportEventDTO;
+import com.upana.studentmanagement.exception.DuplicateResourceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StudentImportServiceTest {
+
+    @Mock
+    private StudentService studentService;
+
+    private StudentImportService importService;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        importService = new StudentImportService(studentService,
+                Validation.buildDefaultValidatorFactory().getValidator(), objectMapper);
+    }
+
+    @Test
+    @DisplayName("Debe importar CSV con encabezado y reportar filas inválidas")
+    void testImportCsv() throws IOException {
+        String csv = "correo,nombre,numero_telefono,idioma\n"
+                + "ana@example.com,\"Pérez, Ana\",1234567890,español\n"
+                + "luis@example.com,Luis,123,inglés\n"
+                + "\n"
+                + "eva@example.com,Eva,0987654321,francés\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        StudentImportEventDTO resumen = importService.importStudents(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), StudentImportService.Format.CSV, output);
+
+        assertEquals(3, resumen.getProcesadas());
+        assertEquals(2, resumen.getImportadas());
+        assertEquals(1, resumen.getErrores());
+
+        ArgumentCaptor<StudentDTO> captor = ArgumentCaptor.forClass(StudentDTO.class);
+        verify(studentService, times(2)).createStudent(captor.capture());
+        assertEquals("Pérez, Ana", captor.getAllValues().get(0).getNombre());
+        assertEquals("ana@example.com", captor.getAllValues().get(0).getCorreo());
+
+        StudentImportEventDTO error = events(output).get(0);
+        assertEquals("error", error.getTipo());
+        assertEquals(3L, error.getLinea());
+    }
+
+    @Test
+    @DisplayName("Debe importar NDJSON y reportar correos duplicados")
+    void testImportNdjson() throws IOException {
+        String ndjson = "{\"nombre\":\"Ana\",\"correo\":\"ana@example.com\",\"numero_telefono\":\"1234567890\",\"idioma\":\"español\"}\n"
+                + "{\"nombre\":\"Ana\",\"correo\":\"ana@example.com\",\"numero_telefono\":\"1234567890\",\"idioma\":\"español\"}\n"
+                + "{no es json}\n";
+        when(studentService.createStudent(any(StudentDTO.class)))
+                .thenReturn(null)
+                .thenThrow(new DuplicateResourceException("Ya existe un estudiante con el correo: ana@example.com"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        StudentImportEventDTO resumen = importService.importStudents(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), StudentImportService.Format.NDJSON, output);
+
+        assertEquals(3, resumen.getProcesadas());
+        assertEquals(1, resumen.getImportadas());
+        assertEquals(2, resumen.getErrores());
+
+        List<StudentImportEventDTO> events = events(output);
+        assertEquals(2L, events.get(0).getLinea());
+        assertEquals(3L, events.get(1).getLinea());
+        assertEquals("resumen", events.get(events.size() - 1).getTipo());
+    }
+
+    @Test
+    @DisplayName("Debe reportar líneas NDJSON que no son objetos y seguir importando")
+    void testImportNdjsonNonObjectLines() throws IOException {
+        String ndjson = "null\n"
+                + "42\n"
+                + "[1,2]\n"
+                + "{\"nombre\":\"Ana\",\"correo\":\"ana@example.com\",\"numero_telefono\":\"1234567890\",\"idioma\":\"español\"}\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        StudentImportEventDTO resumen = importService.importStudents(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), StudentImportService.Format.NDJSON, output);
+
+        assertEquals(4, resumen.getProcesadas());
+        assertEquals(1, resumen.getImportadas());
+        assertEquals(3, resumen.getErrores());
+        verify(studentService, times(1)).createStudent(any(StudentDTO.class));
+
+        List<StudentImportEventDTO> events = events(output);
+        assertEquals("error", events.get(0).getTipo());
+        assertEquals(1L, events.get(0).getLinea());
+        assertEquals("resumen", events.get(events.size() - 1).getTipo());
+    }
+
+    @Test
+    @DisplayName("Debe procesar más filas que el número de bloques en vuelo")
+    void testImportManyChunks() throws IOException {
+        int rows = StudentImportService.CHUNK_SIZE * (StudentImportService.MAX_CHUNKS_IN_FLIGHT + 2) + 7;
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            csv.append("Estudiante ").append(i).append(",e").append(i).append("@example.com,1234567890,inglés\n");
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        StudentImportEventDTO resumen = importService.importStudents(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), StudentImportService.Format.CSV, output);
+
+        assertEquals(rows, resumen.getImportadas());
+        assertEquals(0, resumen.getErrores());
+        verify(studentService, times(rows)).createStudent(any(StudentDTO.class));
+    }
+
+    private List<StudentImportEventDTO> events(ByteArrayOutputStream output) throws IOException {
+        return objectMapper.readerFor(StudentImportEventDTO.class)
+                .<StudentImportEventDTO>readValues(output.toByteArray())
+                .readAll();
+    }
+}
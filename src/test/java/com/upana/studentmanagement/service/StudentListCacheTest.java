@@ -0,0 +1,102 @@
+package com.upana.studentmanagement.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upana.studentmanagement.dto.StudentDTO;
+import com.upana.studentmanagement.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StudentListCacheTest {
+
+    @Mock
+    private StudentRepository repository;
+
+    @Mock
+    private StudentService studentService;
+
+    private StudentListCache cache;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        cache = new StudentListCache(repository, studentService, objectMapper, DataSize.ofBytes(64));
+    }
+
+    @Test
+    @DisplayName("Debe reutilizar los bytes comprimidos mientras la versión no cambie")
+    void testReusesSnapshotForSameVersion() throws IOException {
+        StudentDTO student = new StudentDTO(1L, "Ana", "ana@example.com", "1234567890", "español");
+        when(repository.getVersion()).thenReturn(5L);
+        when(studentService.getAllStudents()).thenReturn(Arrays.asList(student));
+
+        StudentListCache.CachedList gzip = cache.getList(StudentListCache.GZIP);
+        byte[] first = gzip.getBody();
+        byte[] second = cache.getList(StudentListCache.GZIP).getBody();
+        byte[] deflate = cache.getList(StudentListCache.DEFLATE).getBody();
+
+        assertEquals(StudentListCache.GZIP, gzip.getEncoding());
+        assertSame(first, second);
+        verify(studentService, times(1)).getAllStudents();
+        assertEquals(student, decode(new GZIPInputStream(new ByteArrayInputStream(first))).get(0));
+        assertEquals(student, decode(new InflaterInputStream(new ByteArrayInputStream(deflate))).get(0));
+    }
+
+    @Test
+    @DisplayName("Debe regenerar los bytes cuando cambia la versión del almacén")
+    void testRebuildsSnapshotOnNewVersion() {
+        when(repository.getVersion()).thenReturn(1L, 2L);
+        when(studentService.getAllStudents()).thenReturn(Arrays.asList());
+
+        byte[] first = cache.getList(StudentListCache.GZIP).getBody();
+        byte[] second = cache.getList(StudentListCache.GZIP).getBody();
+
+        assertNotSame(first, second);
+        verify(studentService, times(2)).getAllStudents();
+    }
+
+    @Test
+    @DisplayName("No debe comprimir listas por debajo del tamaño mínimo")
+    void testSkipsCompressionBelowMinimumSize() throws IOException {
+        when(repository.getVersion()).thenReturn(1L);
+        when(studentService.getAllStudents()).thenReturn(Arrays.asList());
+
+        StudentListCache.CachedList list = cache.getList(StudentListCache.GZIP);
+
+        assertNull(list.getEncoding());
+        assertEquals("[]", new String(list.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Debe elegir la codificación según Accept-Encoding")
+    void testSelectEncoding() {
+        assertEquals("gzip", StudentListCache.selectEncoding("gzip, deflate, br"));
+        assertEquals("deflate", StudentListCache.selectEncoding("deflate, gzip;q=0"));
+        assertEquals("gzip", StudentListCache.selectEncoding("GZIP;q=0.8"));
+        assertNull(StudentListCache.selectEncoding("br"));
+        assertNull(StudentListCache.selectEncoding(null));
+    }
+
+    private List<StudentDTO> decode(InputStream input) throws IOException {
+        return objectMapper.readValue(input, new TypeReference<List<StudentDTO>>() { });
+    }
+}
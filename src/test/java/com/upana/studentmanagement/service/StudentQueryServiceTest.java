@@ -0,0 +1,131 @@
+package com.upana.studentmanagement.service;
+
+import com.upana.studentmanagement.dto.StudentQueryFilter;
+import com.upana.studentmanagement.dto.StudentQueryRequest;
+import com.upana.studentmanagement.dto.StudentQueryResultDTO;
+import com.upana.studentmanagement.exception.InvalidDataException;
+import com.upana.studentmanagement.exception.QueryTimeoutException;
+import com.upana.studentmanagement.model.Student;
+import com.upana.studentmanagement.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentQueryServiceTest {
+
+    private static final String[] IDIOMAS = {"español", "inglés", "francés"};
+    private static final int TOTAL = 30000;
+
+    private StudentRepository repository;
+    private StudentQueryService queryService;
+
+    @BeforeEach
+    void setUp() {
+        repository = new StudentRepository();
+        queryService = new StudentQueryService(repository, Duration.ofSeconds(5));
+        for (int i = 0; i < TOTAL; i++) {
+            String telefono = (i % 2 == 0 ? "502" : "503") + String.format("%07d", i);
+            String dominio = i % 10 == 0 ? "upana.edu" : "gmail.com";
+            repository.save(new Student("Estudiante " + i, "e" + i + "@" + dominio, telefono, IDIOMAS[i % 3]));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        queryService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debe contar por prefijo de teléfono agrupado por idioma")
+    void testCountGroupedByIdioma() {
+        StudentQueryRequest request = new StudentQueryRequest(
+                List.of(new StudentQueryFilter("numero_telefono", "prefijo", "502")), "idioma", true, null);
+
+        StudentQueryResultDTO result = queryService.query(request);
+
+        assertEquals(TOTAL / 2, result.getCoincidencias());
+        assertEquals(TOTAL / 6, result.getGrupos().get("español"));
+        assertEquals(TOTAL / 6, result.getGrupos().get("inglés"));
+        assertEquals(TOTAL / 6, result.getGrupos().get("francés"));
+        assertNull(result.getEstudiantes());
+        assertFalse(result.isTruncado());
+        assertTrue(result.getTiempoEscaneoMs() >= 0);
+    }
+
+    @Test
+    @DisplayName("Debe listar correos que cumplen una expresión regular combinada con otros filtros")
+    void testRegexWithLimit() {
+        StudentQueryRequest request = new StudentQueryRequest(Arrays.asList(
+                new StudentQueryFilter("correo", "regex", "@upana\\.edu$"),
+                new StudentQueryFilter("idioma", "igual", "ESPAÑOL")), null, false, 5000);
+
+        StudentQueryResultDTO result = queryService.query(request);
+
+        assertEquals(TOTAL / 30, result.getCoincidencias());
+        assertEquals(TOTAL / 30, result.getEstudiantes().size());
+        assertFalse(result.isTruncado());
+        assertTrue(result.getEstudiantes().stream().allMatch(s -> s.getCorreo().endsWith("@upana.edu")));
+    }
+
+    @Test
+    @DisplayName("Debe terminar temprano al alcanzar el límite")
+    void testEarlyTermination() {
+        StudentQueryRequest request = new StudentQueryRequest(
+                List.of(new StudentQueryFilter("nombre", "contiene", "estudiante")), null, false, 10);
+
+        StudentQueryResultDTO result = queryService.query(request);
+
+        assertEquals(10, result.getEstudiantes().size());
+        assertTrue(result.isTruncado());
+        assertNull(result.getCoincidencias());
+    }
+
+    @Test
+    @DisplayName("Debe agrupar por dominio de correo y listar por defecto hasta el límite")
+    void testGroupByDominio() {
+        StudentQueryResultDTO result = queryService.query(new StudentQueryRequest(null, "dominio", false, null));
+
+        assertEquals(TOTAL, result.getCoincidencias());
+        assertEquals(TOTAL / 10, result.getGrupos().get("upana.edu"));
+        assertEquals(StudentQueryService.DEFAULT_LIMIT, result.getEstudiantes().size());
+        assertTrue(result.isTruncado());
+    }
+
+    @Test
+    @DisplayName("Debe abortar una expresión regular que excede el tiempo máximo")
+    void testRegexTimeout() {
+        StudentQueryService slowQueries = new StudentQueryService(repository, Duration.ofMillis(200));
+        // The backreference defeats the JDK's backtracking memoization: exponential in the number of a's.
+        repository.save(new Student("a".repeat(32) + "!", "lento@example.com", "1234567890", "español"));
+        StudentQueryRequest request = new StudentQueryRequest(
+                List.of(new StudentQueryFilter("nombre", "regex", "^(a+)+\\1$")), null, true, null);
+
+        long start = System.nanoTime();
+        try {
+            assertThrows(QueryTimeoutException.class, () -> slowQueries.query(request));
+        } finally {
+            slowQueries.shutdown();
+        }
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(5).toNanos());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar campos, operadores y expresiones inválidas")
+    void testInvalidQueries() {
+        assertThrows(InvalidDataException.class, () -> queryService.query(new StudentQueryRequest(
+                List.of(new StudentQueryFilter("edad", "igual", "20")), null, true, null)));
+        assertThrows(InvalidDataException.class, () -> queryService.query(new StudentQueryRequest(
+                List.of(new StudentQueryFilter("nombre", "mayor", "a")), null, true, null)));
+        assertThrows(InvalidDataException.class, () -> queryService.query(new StudentQueryRequest(
+                List.of(new StudentQueryFilter("correo", "regex", "([")), null, true, null)));
+        assertThrows(InvalidDataException.class, () -> queryService.query(new StudentQueryRequest(
+                null, "edad", true, null)));
+    }
+}
@@ -1,10 +1,15 @@
 package com.upana.studentmanagement.service;
 
 import com.upana.studentmanagement.dto.StudentDTO;
+import com.upana.studentmanagement.dto.StudentField;
+import com.upana.studentmanagement.dto.StudentFieldsView;
+import com.upana.studentmanagement.dto.StudentLookupDTO;
 import com.upana.studentmanagement.exception.DuplicateResourceException;
+import com.upana.studentmanagement.exception.InvalidDataException;
 import com.upana.studentmanagement.exception.ResourceNotFoundException;
 import com.upana.studentmanagement.model.Student;
 import com.upana.studentmanagement.repository.StudentRepository;
+import com.upana.studentmanagement.repository.StudentSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -14,8 +19,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -27,6 +36,9 @@ class StudentServiceTest {
     @Mock
     private StudentRepository repository;
 
+    @Mock
+    private StudentStatistics statistics;
+
     @InjectMocks
     private StudentService service;
 
@@ -69,10 +81,10 @@ class StudentServiceTest {
     @DisplayName("Debe crear un nuevo estudiante")
     void testCreateStudent() {
         when(repository.existsByCorreo(anyString())).thenReturn(false);
-        when(repository.save(any(Student.class))).thenReturn(testStudent);
+        when(repository.saveIfCorreoAbsent(any(Student.class))).thenReturn(testStudent);
         StudentDTO result = service.createStudent(testStudentDTO);
         assertNotNull(result);
-        verify(repository, times(1)).save(any(Student.class));
+        verify(repository, times(1)).saveIfCorreoAbsent(any(Student.class));
     }
 
     @Test
@@ -88,10 +100,10 @@ class StudentServiceTest {
         StudentDTO updateDTO = new StudentDTO(null, "Juan Actualizado", "juan@example.com", "12345678", "inglés");
         when(repository.findById(1L)).thenReturn(Optional.of(testStudent));
         when(repository.existsByCorreoAndIdNot(anyString(), anyLong())).thenReturn(false);
-        when(repository.update(any(Student.class))).thenReturn(testStudent);
+        when(repository.updateIfCorreoFree(any(Student.class))).thenReturn(testStudent);
         StudentDTO result = service.updateStudent(1L, updateDTO);
         assertNotNull(result);
-        verify(repository, times(1)).update(any(Student.class));
+        verify(repository, times(1)).updateIfCorreoFree(any(Student.class));
     }
 
     @Test
@@ -106,7 +118,7 @@ class StudentServiceTest {
     void testPatchStudent() {
         StudentDTO patchDTO = new StudentDTO(null, "Nuevo Nombre", null, null, null);
         when(repository.findById(1L)).thenReturn(Optional.of(testStudent));
-        when(repository.update(any(Student.class))).thenReturn(testStudent);
+        when(repository.updateIfCorreoFree(any(Student.class))).thenReturn(testStudent);
         StudentDTO result = service.patchStudent(1L, patchDTO);
         assertNotNull(result);
     }
@@ -126,6 +138,15 @@ class StudentServiceTest {
         assertThrows(ResourceNotFoundException.class, () -> service.deleteStudent(999L));
     }
 
+    @Test
+    @DisplayName("Debe lanzar excepción si el estudiante se elimina durante la actualización")
+    void testUpdateStudentDeletedConcurrently() {
+        when(repository.findById(1L)).thenReturn(Optional.of(testStudent));
+        when(repository.existsByCorreoAndIdNot(anyString(), anyLong())).thenReturn(false);
+        when(repository.updateIfCorreoFree(any(Student.class))).thenReturn(null);
+        assertThrows(ResourceNotFoundException.class, () -> service.updateStudent(1L, testStudentDTO));
+    }
+
     @Test
     @DisplayName("Debe retornar lista vacía")
     void testGetAllStudentsEmpty() {
@@ -140,7 +161,7 @@ class StudentServiceTest {
         StudentDTO patchDTO = new StudentDTO(null, null, "nuevo@example.com", null, null);
         when(repository.findById(1L)).thenReturn(Optional.of(testStudent));
         when(repository.existsByCorreoAndIdNot(anyString(), anyLong())).thenReturn(false);
-        when(repository.update(any(Student.class))).thenReturn(testStudent);
+        when(repository.updateIfCorreoFree(any(Student.class))).thenReturn(testStudent);
         StudentDTO result = service.patchStudent(1L, patchDTO);
         assertNotNull(result);
     }
@@ -153,4 +174,59 @@ class StudentServiceTest {
         when(repository.existsByCorreoAndIdNot(anyString(), anyLong())).thenReturn(true);
         assertThrows(DuplicateResourceException.class, () -> service.updateStudent(1L, updateDTO));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Debe proyectar estudiantes sin construir DTOs")
+    void testGetAllStudentsFields() {
+        StudentSnapshot snapshot = mock(StudentSnapshot.class);
+        when(repository.openSnapshot()).thenReturn(snapshot);
+        when(snapshot.stream()).thenReturn(Stream.of(testStudent));
+        List<StudentFieldsView> result = service.getAllStudents(EnumSet.of(StudentField.NOMBRE));
+        assertEquals(1, result.size());
+        assertSame(testStudent, result.get(0).getStudent());
+        assertEquals(EnumSet.of(StudentField.NOMBRE), result.get(0).getFields());
+        verify(snapshot).close();
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Las excepciones de dominio no deben capturar stack trace")
+    void testDomainExceptionsAreStackless() {
+        when(repository.findById(999L)).thenReturn(Optional.empty());
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class, () -> service.getStudentById(999L));
+        assertEquals(0, ex.getStackTrace().length);
+        assertEquals(0, new DuplicateResourceException("duplicado").getStackTrace().length);
+    }
+
+    @Test
+    @DisplayName("Debe resolver varios IDs en una sola consulta y reportar los faltantes")
+    void testGetStudentsByIds() {
+        Student otro = new Student(3L, "Ana", "ana@example.com", "1234567890", "inglés");
+        when(repository.findAllById(anyCollection())).thenReturn(Map.of(1L, testStudent, 3L, otro));
+
+        StudentLookupDTO result = service.getStudentsByIds(Arrays.asList(3L, 2L, 1L, 3L));
+
+        assertEquals(2, result.getEstudiantes().size());
+        assertEquals(3L, result.getEstudiantes().get(0).getId());
+        assertEquals(1L, result.getEstudiantes().get(1).getId());
+        assertEquals(List.of(2L), result.getNoEncontrados());
+        verify(repository, times(1)).findAllById(anyCollection());
+        verify(repository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar demasiados IDs")
+    void testGetStudentsByIdsTooMany() {
+        List<Long> ids = Collections.nCopies(StudentService.MAX_LOOKUP_IDS + 1, 1L);
+        assertThrows(InvalidDataException.class, () -> service.getStudentsByIds(ids));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar listas de IDs vacías o con nulos")
+    void testGetStudentsByIdsEmptyOrNull() {
+        assertThrows(InvalidDataException.class, () -> service.getStudentsByIds(null));
+        assertThrows(InvalidDataException.class, () -> service.getStudentsByIds(List.of()));
+        assertThrows(InvalidDataException.class, () -> service.getStudentsByIds(Arrays.asList(1L, null, 2L)));
+        verify(repository, never()).findAllById(anyCollection());
+    }
+}
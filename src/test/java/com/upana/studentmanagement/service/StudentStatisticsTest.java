@@ -0,0 +1,116 @@
+package com.upana.studentmanagement.service;
+
+import com.upana.studentmanagement.dto.StudentStatsDTO;
+import com.upana.studentmanagement.model.Student;
+import com.upana.studentmanagement.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentStatisticsTest {
+
+    private StudentStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new StudentStatistics();
+    }
+
+    @Test
+    @DisplayName("Debe contar estudiantes por idioma y dominio al crear")
+    void testOnCreate() {
+        statistics.onCommit(null, new Student(1L, "Ana", "ana@Upana.edu", "1234567890", "español"));
+        statistics.onCommit(null, new Student(2L, "Luis", "luis@gmail.com", "1234567890", "inglés"));
+        statistics.onCommit(null, new Student(3L, "Eva", "eva@upana.edu", "1234567890", "español"));
+
+        StudentStatsDTO stats = statistics.snapshot();
+        assertEquals(3, stats.getTotal());
+        assertEquals(2L, stats.getPorIdioma().get("español"));
+        assertEquals(1L, stats.getPorIdioma().get("inglés"));
+        assertEquals(2L, stats.getPorDominio().get("upana.edu"));
+        assertEquals(1L, stats.getPorDominio().get("gmail.com"));
+    }
+
+    @Test
+    @DisplayName("Debe mover los contadores al actualizar")
+    void testOnUpdate() {
+        Student student = new Student(1L, "Ana", "ana@upana.edu", "1234567890", "español");
+        statistics.onCommit(null, student);
+        statistics.onCommit(student, new Student(1L, "Ana", "ana@gmail.com", "1234567890", "francés"));
+
+        StudentStatsDTO stats = statistics.snapshot();
+        assertEquals(1, stats.getTotal());
+        assertFalse(stats.getPorIdioma().containsKey("español"));
+        assertEquals(1L, stats.getPorIdioma().get("francés"));
+        assertFalse(stats.getPorDominio().containsKey("upana.edu"));
+        assertEquals(1L, stats.getPorDominio().get("gmail.com"));
+    }
+
+    @Test
+    @DisplayName("Debe seguir al repositorio, incluido deleteAll")
+    void testTracksRepositoryCommits() {
+        StudentRepository repository = new StudentRepository(List.of(statistics));
+        Student ana = repository.save(new Student("Ana", "ana@upana.edu", "1234567890", "español"));
+        repository.save(new Student("Luis", "luis@gmail.com", "1234567890", "inglés"));
+        ana.setIdioma("francés");
+        repository.update(ana);
+        assertEquals(1L, statistics.snapshot().getPorIdioma().get("francés"));
+        assertEquals(2, statistics.snapshot().getTotal());
+
+        repository.deleteById(ana.getId());
+        assertNull(repository.update(ana));
+        assertEquals(1, statistics.snapshot().getTotal());
+        assertFalse(statistics.snapshot().getPorIdioma().containsKey("francés"));
+
+        repository.deleteAll();
+        StudentStatsDTO stats = statistics.snapshot();
+        assertEquals(0, stats.getTotal());
+        assertTrue(stats.getPorIdioma().isEmpty());
+        assertTrue(stats.getPorDominio().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Las lecturas concurrentes deben ver total y desgloses coherentes")
+    void testSnapshotConsistentWithConcurrentWriter() throws InterruptedException {
+        StudentRepository repository = new StudentRepository(List.of(statistics));
+        AtomicBoolean done = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                Student student = repository.save(new Student("E" + i, "e" + i + "@d" + (i % 7) + ".com",
+                        "1234567890", i % 2 == 0 ? "español" : "inglés"));
+                if (i % 3 == 0) {
+                    repository.deleteById(student.getId());
+                }
+            }
+            done.set(true);
+        });
+        writer.start();
+
+        while (!done.get()) {
+            StudentStatsDTO stats = statistics.snapshot();
+            long porIdioma = stats.getPorIdioma().values().stream().mapToLong(Long::longValue).sum();
+            long porDominio = stats.getPorDominio().values().stream().mapToLong(Long::longValue).sum();
+            assertEquals(stats.getTotal(), porIdioma);
+            assertEquals(stats.getTotal(), porDominio);
+        }
+        writer.join();
+    }
+
+    @Test
+    @DisplayName("Debe descontar al eliminar")
+    void testOnDelete() {
+        Student student = new Student(1L, "Ana", "ana@upana.edu", "1234567890", "español");
+        statistics.onCommit(null, student);
+        statistics.onCommit(student, null);
+
+        StudentStatsDTO stats = statistics.snapshot();
+        assertEquals(0, stats.getTotal());
+        assertTrue(stats.getPorIdioma().isEmpty());
+        assertTrue(stats.getPorDominio().isEmpty());
+    }
+}